@@ -0,0 +1,91 @@
+package com.example.demospringboot.dto;
+
+import com.example.demospringboot.dto.gemini.GeminiFunctionCallResponse;
+import com.example.demospringboot.dto.gemini.GeminiResponse;
+import com.example.demospringboot.dto.openweather.OpenWeatherResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API 응답 DTO 의 역직렬화/직렬화 비용.
+ * 픽스처는 src/jmh/resources/fixtures 의 실제 응답 크기 JSON 이고, ObjectMapper 는 스프링 부트 기본 설정과 같다
+ * (모르는 필드 무시).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonDtoBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private byte[] geminiJson;
+    private byte[] geminiFunctionCallJson;
+    private byte[] openWeatherJson;
+
+    private GeminiResponse geminiResponse;
+    private GeminiFunctionCallResponse geminiFunctionCallResponse;
+    private OpenWeatherResponse openWeatherResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        geminiJson = fixture("gemini-response.json");
+        geminiFunctionCallJson = fixture("gemini-function-call-response.json");
+        openWeatherJson = fixture("openweather-response.json");
+
+        geminiResponse = objectMapper.readValue(geminiJson, GeminiResponse.class);
+        geminiFunctionCallResponse = objectMapper.readValue(geminiFunctionCallJson, GeminiFunctionCallResponse.class);
+        openWeatherResponse = objectMapper.readValue(openWeatherJson, OpenWeatherResponse.class);
+    }
+
+    @Benchmark
+    public GeminiResponse readGeminiResponse() throws IOException {
+        return objectMapper.readValue(geminiJson, GeminiResponse.class);
+    }
+
+    @Benchmark
+    public GeminiFunctionCallResponse readGeminiFunctionCallResponse() throws IOException {
+        return objectMapper.readValue(geminiFunctionCallJson, GeminiFunctionCallResponse.class);
+    }
+
+    @Benchmark
+    public OpenWeatherResponse readOpenWeatherResponse() throws IOException {
+        return objectMapper.readValue(openWeatherJson, OpenWeatherResponse.class);
+    }
+
+    @Benchmark
+    public byte[] writeGeminiResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(geminiResponse);
+    }
+
+    @Benchmark
+    public byte[] writeGeminiFunctionCallResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(geminiFunctionCallResponse);
+    }
+
+    @Benchmark
+    public byte[] writeOpenWeatherResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(openWeatherResponse);
+    }
+
+    private static byte[] fixture(String name) {
+        try (InputStream in = JacksonDtoBenchmark.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("fixture not found: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
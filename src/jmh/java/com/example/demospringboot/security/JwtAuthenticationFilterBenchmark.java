@@ -0,0 +1,84 @@
+package com.example.demospringboot.security;
+
+import com.example.demospringboot.metrics.AppMetrics;
+import com.example.demospringboot.utils.JwtProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증된 요청마다 거치는 JwtAuthenticationFilter 전체 경로 비용.
+ * 토큰 추출, 서명 검증(또는 검증 캐시), 폐기 목록 확인, principal 생성, 메트릭 기록까지 포함한다.
+ * principal 은 DB 없이 측정하도록 claims 모드로 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256";
+
+    @Param({"false", "true"})
+    public boolean verifiedTokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+    private CapturingChain chain;
+
+    @Setup
+    public void setUp() {
+        JwtProvider jwtProvider = new JwtProvider(SECRET);
+
+        filter = new JwtAuthenticationFilter(
+                new VerifiedTokenCache(jwtProvider, verifiedTokenCache, 10_000),
+                new CustomUserDetailsService(null, "claims", 300, 10_000, Set.of()),
+                new AccessTokenDenylist(1 << 20),
+                new AppMetrics(new SimpleMeterRegistry()));
+
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/auth/me");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + jwtProvider.createAccessToken(42L));
+        anonymousRequest = new MockHttpServletRequest("POST", "/api/chatbot/question");
+        response = new MockHttpServletResponse();
+        chain = new CapturingChain();
+    }
+
+    @Benchmark
+    public Authentication authenticated() throws ServletException, IOException {
+        filter.doFilter(authenticatedRequest, response, chain);
+        return chain.authentication;
+    }
+
+    // 토큰 없는 공개 API 요청
+    @Benchmark
+    public Authentication anonymous() throws ServletException, IOException {
+        filter.doFilter(anonymousRequest, response, chain);
+        return chain.authentication;
+    }
+
+    // 다음 필터 대신 인증 결과만 꺼내 두고 (JIT 가 필터 본문을 지우지 못하도록) 다음 호출을 위해 컨텍스트를 비움
+    private static final class CapturingChain implements FilterChain {
+        private Authentication authentication;
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) {
+            authentication = SecurityContextHolder.getContext().getAuthentication();
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
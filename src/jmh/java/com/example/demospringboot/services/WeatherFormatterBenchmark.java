@@ -0,0 +1,63 @@
+package com.example.demospringboot.services;
+
+import com.example.demospringboot.dto.openweather.OpenWeatherResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 날씨 응답 문구 생성 비용. 기존 String.format 구현과 WeatherFormatter 를 비교한다.
+ * 호출당 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 확인한다.
+ *
+ * ./gradlew jmh -PjmhIncludes=WeatherFormatterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeatherFormatterBenchmark {
+
+    private static final String LEGACY_FORMAT =
+            "📍 %s의 현재 날씨\n" +
+            "🌡️ 기온: %.1f°C (체감온도: %.1f°C)\n" +
+            "🌤️ 날씨: %s\n" +
+            "💧 습도: %d%%\n" +
+            "🌪️ 기압: %d hPa\n" +
+            "📊 최저/최고: %.1f°C / %.1f°C";
+
+    private OpenWeatherResponse weather;
+    private WeatherFormatter korean;
+    private WeatherFormatter english;
+
+    @Setup
+    public void setUp() {
+        weather = new OpenWeatherResponse();
+        weather.setName("Seoul");
+        weather.setMain(new OpenWeatherResponse.Main(15.2, 13.8, 12.1, 18.5, 65, 1013));
+        weather.setWeather(new OpenWeatherResponse.Weather[]{
+                new OpenWeatherResponse.Weather(800, "Clear", "맑음", "01d")});
+
+        korean = WeatherFormatter.forLanguage("ko");
+        english = WeatherFormatter.forLanguage("en");
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        OpenWeatherResponse.Main main = weather.getMain();
+        return String.format(LEGACY_FORMAT,
+                weather.getName(), main.getTemp(), main.getFeels_like(), weather.getWeather()[0].getDescription(),
+                main.getHumidity(), main.getPressure(), main.getTemp_min(), main.getTemp_max());
+    }
+
+    @Benchmark
+    public String compiledKorean() {
+        return korean.format(weather);
+    }
+
+    @Benchmark
+    public String compiledEnglish() {
+        return english.format(weather);
+    }
+}
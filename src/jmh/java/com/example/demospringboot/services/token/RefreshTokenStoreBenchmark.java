@@ -0,0 +1,94 @@
+package com.example.demospringboot.services.token;
+
+import com.example.demospringboot.entities.RefreshToken;
+import com.example.demospringboot.repositories.RefreshTokenRepository;
+import com.example.demospringboot.services.RefreshTokenService;
+import com.example.demospringboot.utils.JwtProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인(issue) 과 리프레시(rotate) 경로에서 저장소별 비용 비교.
+ * H2 메모리 DB 를 쓰는 jpa 와 memory 저장소를 같은 RefreshTokenService 로 호출한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RefreshTokenStoreBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({"jpa", "memory"})
+    public String store;
+
+    private ConfigurableApplicationContext context;
+    private RefreshTokenService refreshTokenService;
+    private JwtProvider jwtProvider;
+    // 사용자별 현재 세대 리프레시 토큰
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "refresh-token.store=" + store,
+                        "jwt.secret=benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256",
+                        "spring.datasource.url=jdbc:h2:mem:refresh-token-bench;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.root=WARN")
+                .run();
+        refreshTokenService = context.getBean(RefreshTokenService.class);
+        jwtProvider = context.getBean(JwtProvider.class);
+
+        tokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            tokens[i] = refreshTokenService.issue((long) i, null);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // 로그인: 같은 기기의 패밀리 교체
+    @Benchmark
+    public String issue() {
+        int userId = ThreadLocalRandom.current().nextInt(USERS);
+        String token = refreshTokenService.issue((long) userId, null);
+        tokens[userId] = token;
+        return token;
+    }
+
+    // 리프레시: 서명 검증 + 세대 compare-and-increment
+    @Benchmark
+    public String rotate() {
+        int userId = ThreadLocalRandom.current().nextInt(USERS);
+        String token = refreshTokenService.rotate(jwtProvider.verify(tokens[userId]).orElseThrow()).orElseThrow();
+        tokens[userId] = token;
+        return token;
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = RefreshToken.class)
+    @EnableJpaRepositories(basePackageClasses = RefreshTokenRepository.class)
+    @Import({RefreshTokenService.class, JwtProvider.class, JpaRefreshTokenStore.class, InMemoryRefreshTokenStore.class})
+    static class BenchmarkConfig {
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demospringboot.utils;
+
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 가 요청마다 수행하는 토큰 검증 비용 비교.
+ * ./gradlew jmh 실행 시 gc 프로파일러의 gc.alloc.rate.norm 으로 호출당 할당량을 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256";
+
+    private JwtProvider jwtProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = new JwtProvider(SECRET);
+        token = jwtProvider.createAccessToken(42L);
+    }
+
+    // 기존 경로: validateToken + getUserIdFromToken, 매번 파서를 만들고 서명을 두 번 검증
+    @Benchmark
+    public Long validateThenParse() {
+        Jwts.parserBuilder().setSigningKey(SECRET.getBytes()).build().parseClaimsJws(token);
+        return Long.valueOf(Jwts.parserBuilder()
+                .setSigningKey(SECRET.getBytes())
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject());
+    }
+
+    // 변경 경로: 기동 시 만든 파서로 한 번만 검증
+    @Benchmark
+    public JwtClaims singleParseVerify() {
+        return jwtProvider.verify(token).orElseThrow();
+    }
+
+    // 로그인 / 토큰 갱신 때마다 발급하는 액세스 토큰
+    @Benchmark
+    public String createAccessToken() {
+        return jwtProvider.createAccessToken(42L);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demospringboot.config;
+
+import com.example.demospringboot.tracing.Tracer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // 챗봇 스트리밍 응답처럼 요청 스레드를 반환한 뒤 처리할 작업용 스레드 풀
+    @Bean
+    public ThreadPoolTaskExecutor chatbotExecutor(@Value("${chatbot.executor.core-size:8}") int coreSize,
+                                                  @Value("${chatbot.executor.max-size:32}") int maxSize,
+                                                  @Value("${chatbot.executor.queue-capacity:100}") int queueCapacity,
+                                                  Tracer tracer) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("chatbot-");
+        // 요청 스레드의 트레이스를 작업 스레드로 이어 붙임
+        executor.setTaskDecorator(tracer::wrap);
+        return executor;
+    }
+
+    // LLM 도구 병렬 실행용 스레드 풀 (chatbotExecutor 위에서 대기하는 작업과 분리해 교착을 피함)
+    @Bean
+    public ThreadPoolTaskExecutor toolExecutor(@Value("${llm.tools.executor.core-size:8}") int coreSize,
+                                               @Value("${llm.tools.executor.max-size:32}") int maxSize,
+                                               @Value("${llm.tools.executor.queue-capacity:100}") int queueCapacity,
+                                               Tracer tracer) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("llm-tool-");
+        executor.setTaskDecorator(tracer::wrap);
+        return executor;
+    }
+}
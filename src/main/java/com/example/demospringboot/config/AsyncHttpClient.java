@@ -0,0 +1,138 @@
+package com.example.demospringboot.config;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동시 요청 수를 제한한 비동기 JDK HttpClient.
+ * JDK HttpClient 는 커넥션 수 제한이 없어 HTTP/1.1 에서는 동시 요청마다 커넥션을 새로 연다.
+ * 그래서 동시 요청을 max-connections 개로 제한해 커넥션 수를 같은 한도 안에 둔다.
+ * 한도를 넘은 요청은 스레드를 막지 않고 대기열에 두었다가 앞선 요청이 끝나면 보내고,
+ * connection-request-timeout-ms 안에 차례가 오지 않으면 TimeoutException 으로 실패시킨다.
+ * 유휴 커넥션 정리(idle-evict-seconds, time-to-live-seconds)는 적용되지 않고 JDK 의
+ * jdk.httpclient.keepalive.timeout 시스템 속성을 따른다.
+ */
+public class AsyncHttpClient {
+
+    private final String name;
+    private final HttpClient client;
+    private final int maxInFlight;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    private final Queue<Pending<?>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public AsyncHttpClient(String name, HttpClient client, int maxInFlight, Duration acquireTimeout) {
+        this.name = name;
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * HttpClient.sendAsync 와 같다. 반환한 future 를 취소하면 대기 중인 요청은 보내지 않고,
+     * 보낸 요청은 HTTP 교환을 중단한다.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        Pending<T> call = new Pending<>(request, handler);
+        if (permits.tryAcquire()) {
+            call.started.set(true);
+            start(call);
+        } else {
+            pendingCount.incrementAndGet();
+            pending.add(call);
+            // 차례를 기다리다 제한 시간이 지나면 실패 (그 전에 시작했으면 무시)
+            CompletableFuture.delayedExecutor(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                if (call.started.compareAndSet(false, true)) {
+                    call.result.completeExceptionally(new TimeoutException(
+                            name + " 비동기 요청 대기 시간 초과: " + acquireTimeout.toMillis() + "ms"));
+                }
+            });
+            drain();
+        }
+        return call.result;
+    }
+
+    public int getInFlightCount() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    // 대기열 추가와 허가 반환이 엇갈려도 놓치는 요청이 없도록 둘 다 끝난 뒤 호출
+    private void drain() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            Pending<?> call = pending.poll();
+            if (call == null) {
+                permits.release();
+                return;
+            }
+            pendingCount.decrementAndGet();
+            // 기다리는 동안 취소되거나 대기 시간이 지났으면 보내지 않고 다음 요청에 허가를 넘김
+            if (call.result.isDone() || !call.started.compareAndSet(false, true)) {
+                permits.release();
+                continue;
+            }
+            start(call);
+        }
+    }
+
+    private <T> void start(Pending<T> call) {
+        CompletableFuture<HttpResponse<T>> exchange;
+        try {
+            exchange = client.sendAsync(call.request, call.handler);
+        } catch (RuntimeException e) {
+            release();
+            call.result.completeExceptionally(e);
+            return;
+        }
+        exchange.whenComplete((response, error) -> {
+            release();
+            if (error == null) {
+                call.result.complete(response);
+            } else {
+                call.result.completeExceptionally(error);
+            }
+        });
+        call.result.whenComplete((response, error) -> {
+            if (call.result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+    }
+
+    private void release() {
+        permits.release();
+        drain();
+    }
+
+    private static final class Pending<T> {
+        private final HttpRequest request;
+        private final HttpResponse.BodyHandler<T> handler;
+        private final CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        private Pending(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+            this.request = request;
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demospringboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Gemini API 설정.
+ * 예) gemini.api.key=...
+ *     gemini.dedup.enabled=true
+ */
+@Data
+@ConfigurationProperties(prefix = "gemini")
+public class GeminiProperties {
+
+    private Api api = new Api();
+    private Dedup dedup = new Dedup();
+
+    @Data
+    public static class Api {
+        private String key;
+        private String url = "https://generativelanguage.googleapis.com/v1beta/models/gemini-pro:generateContent";
+        // 비어 있으면 url 의 generateContent 를 streamGenerateContent 로 바꿔 사용
+        private String streamUrl = "";
+    }
+
+    // 응답을 기다리는 중인 것과 같은 generateContent 요청은 다시 보내지 않고 결과를 나눠 받음
+    @Data
+    public static class Dedup {
+        private boolean enabled = false;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.demospringboot.config;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 외부 API 별로 분리된 HTTP 커넥션 풀.
+ * 한 API 가 느려져도 다른 API 의 커넥션을 점유하지 않도록 풀을 나눈다.
+ */
+@Slf4j
+public class HttpClientPools implements DisposableBean {
+
+    public static final String GEMINI = "gemini";
+    public static final String OPENWEATHER = "openweather";
+    public static final String KAKAO = "kakao";
+
+    private final HttpClientProperties properties;
+    private final Map<String, PooledClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, AsyncHttpClient> asyncClients = new ConcurrentHashMap<>();
+
+    public HttpClientPools(HttpClientProperties properties) {
+        this.properties = properties;
+    }
+
+    public RestTemplate restTemplate(String name) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(client(name).httpClient));
+    }
+
+    /**
+     * 비동기 호출용 JDK HttpClient. 응답을 기다리는 동안 스레드를 점유하지 않는다.
+     * 동시 요청은 max-connections, 차례를 기다리는 시간은 connection-request-timeout-ms 로 제한하고,
+     * 요청별 타임아웃은 readTimeout(name) 으로 지정한다.
+     */
+    public AsyncHttpClient asyncClient(String name) {
+        return asyncClients.computeIfAbsent(name, key -> {
+            HttpClientProperties.Pool pool = properties.pool(key);
+            log.info("비동기 HTTP 클라이언트 생성: name={}, maxInFlight={}", key, pool.getMaxConnections());
+            return new AsyncHttpClient(key,
+                    HttpClient.newBuilder()
+                            .connectTimeout(Duration.ofMillis(pool.getConnectTimeoutMs()))
+                            .build(),
+                    pool.getMaxConnections(),
+                    Duration.ofMillis(pool.getConnectionRequestTimeoutMs()));
+        });
+    }
+
+    public Duration readTimeout(String name) {
+        return Duration.ofMillis(properties.pool(name).getReadTimeoutMs());
+    }
+
+    public Set<String> names() {
+        return clients.keySet();
+    }
+
+    public Set<String> asyncNames() {
+        return asyncClients.keySet();
+    }
+
+    // 풀 사용량 (leased / available / pending / max)
+    public PoolStats stats(String name) {
+        return client(name).connectionManager.getTotalStats();
+    }
+
+    @Override
+    public void destroy() {
+        clients.forEach((name, client) -> {
+            log.debug("HTTP 커넥션 풀 종료: {}", name);
+            client.httpClient.close(CloseMode.GRACEFUL);
+        });
+        clients.clear();
+        asyncClients.clear();
+    }
+
+    private PooledClient client(String name) {
+        return clients.computeIfAbsent(name, this::create);
+    }
+
+    private PooledClient create(String name) {
+        HttpClientProperties.Pool pool = properties.pool(name);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.getMaxConnections())
+                .setMaxConnPerRoute(pool.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(pool.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(pool.getReadTimeoutMs()))
+                        .setTimeToLive(TimeValue.ofSeconds(pool.getTimeToLiveSeconds()))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(pool.getConnectionRequestTimeoutMs()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(pool.getReadTimeoutMs()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(pool.getIdleEvictSeconds()))
+                .build();
+
+        log.info("HTTP 커넥션 풀 생성: name={}, pool={}", name, pool);
+        return new PooledClient(connectionManager, httpClient);
+    }
+
+    @AllArgsConstructor
+    private static final class PooledClient {
+        private final PoolingHttpClientConnectionManager connectionManager;
+        private final CloseableHttpClient httpClient;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demospringboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 외부 API 별 HTTP 커넥션 풀 설정.
+ * 예) http.client.pools.gemini.max-connections=100
+ *     http.client.pools.gemini.read-timeout-ms=30000
+ */
+@Data
+@ConfigurationProperties(prefix = "http.client")
+public class HttpClientProperties {
+
+    private Map<String, Pool> pools = new HashMap<>();
+
+    public Pool pool(String name) {
+        return pools.computeIfAbsent(name, key -> new Pool());
+    }
+
+    @Data
+    public static class Pool {
+        private int maxConnections = 50;
+        private long connectTimeoutMs = 2000;
+        private long readTimeoutMs = 30000;
+        private long connectionRequestTimeoutMs = 1000;
+        private long idleEvictSeconds = 30;
+        private long timeToLiveSeconds = 300;
+    }
+}
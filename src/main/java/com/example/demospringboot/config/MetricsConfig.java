@@ -0,0 +1,189 @@
+package com.example.demospringboot.config;
+
+import com.example.demospringboot.resilience.UpstreamGuard;
+import com.example.demospringboot.resilience.UpstreamGuards;
+import com.example.demospringboot.security.AccessTokenDenylist;
+import com.example.demospringboot.security.CustomUserDetailsService;
+import com.example.demospringboot.security.RateLimitFilter;
+import com.example.demospringboot.security.VerifiedTokenCache;
+import com.example.demospringboot.services.CachingLLMService;
+import com.example.demospringboot.services.GeminiLLMService;
+import com.example.demospringboot.services.KakaoService;
+import com.example.demospringboot.services.OpenWeatherService;
+import com.example.demospringboot.services.UserProfileWriter;
+import com.example.demospringboot.services.conversation.ConversationStore;
+import com.example.demospringboot.utils.ExpiringCache;
+import com.example.demospringboot.utils.RequestCoalescer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 각 컴포넌트가 이미 세고 있는 통계(캐시, 커넥션 풀, 서킷 브레이커, Gemini 중복 요청 합치기(gemini.dedup.*), 속도 제한)를 Micrometer 에 연결.
+ * 모두 스크레이프할 때 읽는 함수형 미터라 요청 경로에는 추가 비용이 없다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder cacheMetrics(VerifiedTokenCache verifiedTokenCache,
+                                    CustomUserDetailsService customUserDetailsService,
+                                    CachingLLMService cachingLLMService,
+                                    OpenWeatherService openWeatherService,
+                                    KakaoService kakaoService,
+                                    ConversationStore conversationStore) {
+        return registry -> {
+            bindCache(registry, "jwt_verified", verifiedTokenCache, VerifiedTokenCache::stats);
+            bindCache(registry, "principal", customUserDetailsService, CustomUserDetailsService::cacheStats);
+            bindCache(registry, "llm_response", cachingLLMService, CachingLLMService::cacheStats);
+            bindCache(registry, "openweather", openWeatherService, OpenWeatherService::cacheStats);
+            bindCache(registry, "kakao_user", kakaoService, KakaoService::cacheStats);
+            bindCache(registry, "conversation", conversationStore, ConversationStore::stats);
+        };
+    }
+
+    @Bean
+    public MeterBinder httpClientPoolMetrics(HttpClientPools httpClientPools) {
+        return registry -> {
+            for (String name : httpClientPools.names()) {
+                poolGauge(registry, "leased", name, httpClientPools, pools -> pools.stats(name).getLeased());
+                poolGauge(registry, "available", name, httpClientPools, pools -> pools.stats(name).getAvailable());
+                poolGauge(registry, "pending", name, httpClientPools, pools -> pools.stats(name).getPending());
+                poolGauge(registry, "max", name, httpClientPools, pools -> pools.stats(name).getMax());
+            }
+            // 비동기 JDK HttpClient 는 커넥션 풀이 아니라 동시 요청 수로 제한하므로 따로 노출
+            for (String name : new String[]{HttpClientPools.GEMINI, HttpClientPools.OPENWEATHER}) {
+                AsyncHttpClient client = httpClientPools.asyncClient(name);
+                asyncGauge(registry, "in_flight", name, client, AsyncHttpClient::getInFlightCount);
+                asyncGauge(registry, "pending", name, client, AsyncHttpClient::getPendingCount);
+                asyncGauge(registry, "max", name, client, AsyncHttpClient::getMaxInFlight);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder upstreamGuardMetrics(UpstreamGuards upstreamGuards) {
+        return registry -> {
+            for (String name : new String[]{HttpClientPools.GEMINI, HttpClientPools.OPENWEATHER}) {
+                UpstreamGuard guard = upstreamGuards.guard(name);
+                Gauge.builder("upstream.circuit.state", guard, g -> g.stats().getState().ordinal())
+                        .description("0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+                        .tag("upstream", name)
+                        .register(registry);
+                Gauge.builder("upstream.failure.rate", guard, g -> g.stats().getFailureRate())
+                        .tag("upstream", name)
+                        .register(registry);
+                Gauge.builder("upstream.bulkhead.available", guard, g -> g.stats().getAvailableConcurrentCalls())
+                        .tag("upstream", name)
+                        .register(registry);
+                FunctionCounter.builder("upstream.rejected", guard, g -> g.stats().getRejectedCount())
+                        .tag("upstream", name)
+                        .register(registry);
+                FunctionCounter.builder("upstream.retries", guard, g -> g.stats().getRetryCount())
+                        .tag("upstream", name)
+                        .register(registry);
+                FunctionCounter.builder("upstream.hedges", guard, g -> g.stats().getHedgeCount())
+                        .tag("upstream", name)
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder chatbotMetrics(GeminiLLMService geminiLLMService, OpenWeatherService openWeatherService) {
+        return registry -> {
+            // 날씨 도구 호출(function_call)과 일반 답변(text) 라우팅 결과
+            FunctionCounter.builder("chatbot.routing", geminiLLMService, GeminiLLMService::getFunctionCallRouteCount)
+                    .tag("route", "function_call")
+                    .register(registry);
+            FunctionCounter.builder("chatbot.routing", geminiLLMService, GeminiLLMService::getTextRouteCount)
+                    .tag("route", "text")
+                    .register(registry);
+            Gauge.builder("chatbot.upstream.calls.per.question", geminiLLMService,
+                            GeminiLLMService::getAverageUpstreamCallsPerQuestion)
+                    .register(registry);
+            FunctionCounter.builder("gemini.dedup.dispatched", geminiLLMService, dedupStat(RequestCoalescer.Stats::getDispatchedCount))
+                    .register(registry);
+            FunctionCounter.builder("gemini.dedup.submitted", geminiLLMService, dedupStat(RequestCoalescer.Stats::getSubmittedCount))
+                    .register(registry);
+            FunctionCounter.builder("openweather.calls", openWeatherService, OpenWeatherService::getUpstreamCallCount)
+                    .tag("result", "upstream")
+                    .register(registry);
+            FunctionCounter.builder("openweather.calls", openWeatherService, OpenWeatherService::getCoalescedCallCount)
+                    .tag("result", "coalesced")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder authMetrics(RateLimitFilter rateLimitFilter,
+                                   AccessTokenDenylist accessTokenDenylist,
+                                   UserProfileWriter userProfileWriter) {
+        return registry -> {
+            FunctionCounter.builder("rate.limit.rejected", rateLimitFilter, RateLimitFilter::getRejectedCount)
+                    .register(registry);
+            Gauge.builder("rate.limit.buckets", rateLimitFilter, RateLimitFilter::getBucketCount)
+                    .register(registry);
+            Gauge.builder("auth.denylist.size", accessTokenDenylist, AccessTokenDenylist::size)
+                    .register(registry);
+            FunctionCounter.builder("auth.denylist.false.positives", accessTokenDenylist,
+                            AccessTokenDenylist::getFalsePositiveCount)
+                    .register(registry);
+            Gauge.builder("user.profile.writes.pending", userProfileWriter, UserProfileWriter::getPendingCount)
+                    .register(registry);
+            FunctionCounter.builder("user.profile.writes", userProfileWriter, UserProfileWriter::getWrittenCount)
+                    .tag("result", "written")
+                    .register(registry);
+            FunctionCounter.builder("user.profile.writes", userProfileWriter, UserProfileWriter::getCoalescedCount)
+                    .tag("result", "coalesced")
+                    .register(registry);
+        };
+    }
+
+    // 미터는 대상 객체를 약한 참조로 잡으므로 람다가 아닌 빈 자체를 넘김
+    private static <T> void bindCache(MeterRegistry registry, String cache, T owner,
+                                      Function<T, ExpiringCache.Stats> stats) {
+        FunctionCounter.builder("app.cache.gets", owner, o -> stats.apply(o).getHitCount())
+                .tag("cache", cache).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("app.cache.gets", owner, o -> stats.apply(o).getMissCount())
+                .tag("cache", cache).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("app.cache.evictions", owner, o -> stats.apply(o).getEvictionCount())
+                .tag("cache", cache)
+                .register(registry);
+        Gauge.builder("app.cache.size", owner, o -> stats.apply(o).getSize())
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    private static void poolGauge(MeterRegistry registry, String state, String name,
+                                  HttpClientPools httpClientPools, ToDoubleFunction<HttpClientPools> value) {
+        Gauge.builder("http.client.pool.connections", httpClientPools, value)
+                .tag("pool", name)
+                .tag("state", state)
+                .register(registry);
+    }
+
+    private static void asyncGauge(MeterRegistry registry, String state, String name,
+                                   AsyncHttpClient client, ToDoubleFunction<AsyncHttpClient> value) {
+        Gauge.builder("http.client.async.requests", client, value)
+                .tag("pool", name)
+                .tag("state", state)
+                .register(registry);
+    }
+
+    // 중복 제거를 끄면 0
+    private static ToDoubleFunction<GeminiLLMService> dedupStat(ToDoubleFunction<RequestCoalescer.Stats> stat) {
+        return service -> {
+            RequestCoalescer.Stats stats = service.dedupStats();
+            return stats != null ? stat.applyAsDouble(stats) : 0;
+        };
+    }
+}
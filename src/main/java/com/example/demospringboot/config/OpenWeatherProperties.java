@@ -0,0 +1,38 @@
+package com.example.demospringboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * OpenWeather API 설정.
+ * 예) openweather.api.key=...
+ *     openweather.cache.ttl-seconds=300
+ *     openweather.format.language=ko
+ */
+@Data
+@ConfigurationProperties(prefix = "openweather")
+public class OpenWeatherProperties {
+
+    private Api api = new Api();
+    private Cache cache = new Cache();
+    private Format format = new Format();
+
+    @Data
+    public static class Api {
+        private String key;
+        private String url = "https://api.openweathermap.org/data/2.5/weather";
+    }
+
+    // 도시별 날씨 캐시 (ttlSeconds 가 0 이면 캐시하지 않음)
+    @Data
+    public static class Cache {
+        private long ttlSeconds = 300;
+        private int maxSize = 1000;
+    }
+
+    // 날씨 응답 문구 언어 (ko, en)
+    @Data
+    public static class Format {
+        private String language = "ko";
+    }
+}
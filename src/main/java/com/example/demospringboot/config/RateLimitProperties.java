@@ -0,0 +1,70 @@
+package com.example.demospringboot.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 경로별 요청 속도 제한 (토큰 버킷).
+ * 예) rate-limit.routes.chatbot.pattern=/api/chatbot/**
+ *     rate-limit.routes.chatbot.capacity=20
+ *     rate-limit.routes.chatbot.refill-per-second=1
+ * 기본 경로(chatbot, auth)는 capacity 처럼 일부 값만 지정해도 나머지는 기본값을 사용한다.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private static final Map<String, Route> DEFAULT_ROUTES = defaultRoutes();
+    private static final int DEFAULT_CAPACITY = 20;
+    private static final double DEFAULT_REFILL_PER_SECOND = 1.0;
+
+    private boolean enabled = true;
+
+    // 이 시간 동안 요청이 없어 가득 찬 버킷은 제거
+    private long idleEvictSeconds = 600;
+
+    // 선언 순서대로 매칭
+    private Map<String, Route> routes = defaultRoutes();
+
+    /**
+     * 설정 값에 같은 이름의 기본 경로 값을 채운 경로.
+     * 설정 바인딩은 맵의 값을 통째로 바꾸므로 지정하지 않은 필드는 null 로 들어온다.
+     *
+     * @throws IllegalStateException pattern 이 없고 같은 이름의 기본 경로도 없을 때
+     */
+    public Route resolveRoute(String name) {
+        Route route = routes.getOrDefault(name, new Route());
+        Route defaults = DEFAULT_ROUTES.getOrDefault(name, new Route(null, DEFAULT_CAPACITY, DEFAULT_REFILL_PER_SECOND));
+
+        String pattern = StringUtils.hasText(route.getPattern()) ? route.getPattern() : defaults.getPattern();
+        if (!StringUtils.hasText(pattern)) {
+            throw new IllegalStateException("rate-limit.routes." + name + ".pattern 이 설정되지 않았습니다.");
+        }
+        return new Route(pattern,
+                route.getCapacity() != null ? route.getCapacity() : defaults.getCapacity(),
+                route.getRefillPerSecond() != null ? route.getRefillPerSecond() : defaults.getRefillPerSecond());
+    }
+
+    private static Map<String, Route> defaultRoutes() {
+        Map<String, Route> routes = new LinkedHashMap<>();
+        routes.put("chatbot", new Route("/api/chatbot/**", 20, 1.0));
+        routes.put("auth", new Route("/api/auth/**", 10, 0.5));
+        return routes;
+    }
+
+    // 지정하지 않은 값은 null (resolveRoute 에서 기본값으로 채움)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        private String pattern;
+        private Integer capacity;
+        private Double refillPerSecond;
+    }
+}
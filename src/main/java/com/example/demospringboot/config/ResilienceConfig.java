@@ -0,0 +1,16 @@
+package com.example.demospringboot.config;
+
+import com.example.demospringboot.resilience.UpstreamGuards;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfig {
+
+    @Bean
+    public UpstreamGuards upstreamGuards(ResilienceProperties properties) {
+        return new UpstreamGuards(properties);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demospringboot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 외부 API 별 장애 대응 설정 (서킷 브레이커, 벌크헤드, 재시도, 헤지 요청).
+ * 예) resilience.upstreams.gemini.max-concurrent-calls=20
+ *     resilience.upstreams.openweather.hedge-delay-ms=500
+ */
+@Data
+@ConfigurationProperties(prefix = "resilience")
+public class ResilienceProperties {
+
+    private Map<String, Policy> upstreams = new HashMap<>();
+
+    public Policy policy(String name) {
+        return upstreams.computeIfAbsent(name, key -> new Policy());
+    }
+
+    @Data
+    public static class Policy {
+        // 서킷 브레이커: 최근 sliding-window-size 건 중 실패율이 임계치 이상이면 open-duration 동안 차단
+        private int failureRateThreshold = 50;
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private long openDurationMs = 30000;
+        private int halfOpenCalls = 3;
+
+        // 벌크헤드: 동시 호출 수 상한 (넘치면 대기하지 않고 바로 거절)
+        private int maxConcurrentCalls = 50;
+
+        // 재시도: 지수 백오프 + full jitter, 전체 deadline 안에서만 재시도
+        private int maxAttempts = 2;
+        private long backoffMs = 100;
+        private long maxBackoffMs = 1000;
+        private long deadlineMs = 30000;
+
+        // 헤지 요청: 비동기 호출이 이 시간 안에 끝나지 않으면 같은 요청을 한 번 더 보냄 (0 이면 사용 안 함)
+        // 진 쪽은 취소하지만 이미 보낸 요청은 서버에서 처리될 수 있으므로 멱등이고 과금되지 않는 호출(OpenWeather GET)에만 사용.
+        // Gemini generateContent 는 헤지마다 과금되는 POST 가 한 번 더 나가므로 켜지 않는다.
+        private long hedgeDelayMs = 0;
+    }
+}
@@ -1,14 +1,31 @@
 package com.example.demospringboot.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@EnableConfigurationProperties({HttpClientProperties.class, GeminiProperties.class, OpenWeatherProperties.class})
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClientPools httpClientPools(HttpClientProperties properties) {
+        return new HttpClientPools(properties);
     }
-} 
\ No newline at end of file
+
+    @Bean
+    public RestTemplate geminiRestTemplate(HttpClientPools httpClientPools) {
+        return httpClientPools.restTemplate(HttpClientPools.GEMINI);
+    }
+
+    @Bean
+    public RestTemplate openWeatherRestTemplate(HttpClientPools httpClientPools) {
+        return httpClientPools.restTemplate(HttpClientPools.OPENWEATHER);
+    }
+
+    @Bean
+    public RestTemplate kakaoRestTemplate(HttpClientPools httpClientPools) {
+        return httpClientPools.restTemplate(HttpClientPools.KAKAO);
+    }
+}
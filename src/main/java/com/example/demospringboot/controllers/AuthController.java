@@ -6,28 +6,40 @@ import com.example.demospringboot.dto.request.LogoutRequest;
 import com.example.demospringboot.dto.request.RefreshTokenRequest;
 import com.example.demospringboot.dto.response.TokenResponse;
 import com.example.demospringboot.entities.User;
+import com.example.demospringboot.security.AccessTokenDenylist;
+import com.example.demospringboot.security.CustomUserDetailsService;
+import com.example.demospringboot.security.VerifiedTokenCache;
 import com.example.demospringboot.services.KakaoService;
 import com.example.demospringboot.services.RefreshTokenService;
 import com.example.demospringboot.services.UserService;
+import com.example.demospringboot.utils.JwtClaims;
 import com.example.demospringboot.utils.JwtProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 @Slf4j
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final KakaoService kakaoService;
     private final JwtProvider jwtProvider;
     private final RefreshTokenService refreshTokenService;
     private final UserService userService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final CustomUserDetailsService customUserDetailsService;
+    private final AccessTokenDenylist accessTokenDenylist;
 
     @PostMapping("/kakao")
     public ResponseEntity<TokenResponse> kakaoLogin(@RequestBody KakaoTokenRequest request) {
@@ -38,14 +50,11 @@ public class AuthController {
             // 2. 사용자 DB 저장 또는 조회
             User user = userService.findOrCreateUser(kakaoUser);
 
-            // 3. JWT 토큰 생성
+            // 3. JWT 토큰 생성 (리프레시 토큰은 기기별 새 패밀리로 발급)
             String accessToken = jwtProvider.createAccessToken(user.getId());
-            String refreshToken = jwtProvider.createRefreshToken(user.getId());
-
-            // 4. 리프레시 토큰 저장
-            refreshTokenService.save(user.getId(), refreshToken);
+            String refreshToken = refreshTokenService.issue(user.getId(), request.getDeviceId());
 
-            // 5. 토큰 응답
+            // 4. 토큰 응답
             return ResponseEntity.ok(new TokenResponse(accessToken, refreshToken));
         } catch (Exception e) {
             log.error("카카오 로그인 중 오류 발생", e);
@@ -56,22 +65,22 @@ public class AuthController {
     @PostMapping("/refresh")
     public ResponseEntity<TokenResponse> refreshToken(@RequestBody RefreshTokenRequest request) {
         try {
-            // 1. 리프레시 토큰에서 사용자 ID 추출
-            Long userId = jwtProvider.getUserIdFromToken(request.getRefreshToken());
+            // 1. 리프레시 토큰 서명과 만료 검증
+            JwtClaims claims = jwtProvider.verify(request.getRefreshToken()).orElse(null);
+            if (claims == null) {
+                return ResponseEntity.badRequest().build();
+            }
 
-            // 2. 리프레시 토큰 유효성 검증
-            if (!refreshTokenService.isValid(userId, request.getRefreshToken())) {
+            // 2. 저장소에서 세대를 원자적으로 올리고 다음 세대 리프레시 토큰 발급 (재사용이면 패밀리 폐기)
+            Optional<String> newRefreshToken = refreshTokenService.rotate(claims);
+            if (newRefreshToken.isEmpty()) {
                 return ResponseEntity.badRequest().build();
             }
 
             // 3. 새로운 액세스 토큰 생성
-            String newAccessToken = jwtProvider.createAccessToken(userId);
-
-            // 4. 새로운 리프레시 토큰 생성 (선택사항)
-            String newRefreshToken = jwtProvider.createRefreshToken(userId);
-            refreshTokenService.save(userId, newRefreshToken);
+            String newAccessToken = jwtProvider.createAccessToken(claims.getUserId());
 
-            return ResponseEntity.ok(new TokenResponse(newAccessToken, newRefreshToken));
+            return ResponseEntity.ok(new TokenResponse(newAccessToken, newRefreshToken.get()));
         } catch (Exception e) {
             log.error("토큰 갱신 중 오류 발생", e);
             return ResponseEntity.badRequest().build();
@@ -79,13 +88,31 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout(@RequestBody LogoutRequest request) {
+    public ResponseEntity<Void> logout(@RequestBody LogoutRequest request,
+                                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
         try {
-            // 1. 리프레시 토큰에서 사용자 ID 추출
-            Long userId = jwtProvider.getUserIdFromToken(request.getRefreshToken());
+            // 1. 리프레시 토큰 서명과 만료 검증 (액세스 토큰으로는 로그아웃할 수 없음)
+            JwtClaims refreshClaims = jwtProvider.verify(request.getRefreshToken())
+                    .filter(JwtClaims::isRefreshToken)
+                    .orElse(null);
+            if (refreshClaims == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            Long userId = refreshClaims.getUserId();
+
+            // 2. 이 기기의 리프레시 토큰 패밀리만 삭제 (다른 기기의 로그인은 유지)
+            refreshTokenService.deleteFamily(userId, refreshClaims.getFamilyId());
+
+            // 3. 함께 보낸 같은 사용자의 액세스 토큰은 만료 전까지 폐기 목록에 등록
+            if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+                jwtProvider.verify(authorization.substring(BEARER_PREFIX.length()))
+                        .filter(claims -> userId.equals(claims.getUserId()))
+                        .ifPresent(accessTokenDenylist::revoke);
+            }
 
-            // 2. 리프레시 토큰 삭제
-            refreshTokenService.deleteByUserId(userId);
+            // 4. 검증 토큰 캐시와 principal 캐시에서 사용자 항목 제거
+            verifiedTokenCache.evictUser(userId);
+            customUserDetailsService.evict(userId);
 
             return ResponseEntity.ok().build();
         } catch (Exception e) {
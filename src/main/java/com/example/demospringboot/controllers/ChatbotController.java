@@ -3,25 +3,129 @@ package com.example.demospringboot.controllers;
 import com.example.demospringboot.dto.request.ChatbotQuestionRequest;
 import com.example.demospringboot.dto.response.ChatbotResponse;
 import com.example.demospringboot.services.LLMService;
-import lombok.RequiredArgsConstructor;
+import com.example.demospringboot.services.conversation.ConversationStore;
+import com.example.demospringboot.services.conversation.ConversationTurn;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/chatbot")
-@RequiredArgsConstructor
 @Slf4j
 public class ChatbotController {
 
+    private static final long STREAM_TIMEOUT_MS = 120_000L;
+    private static final String BUSY_MESSAGE = "죄송합니다. 요청이 많아 지금은 답변할 수 없습니다. 잠시 후 다시 시도해주세요.";
+
     private final LLMService llmService;
+    private final ConversationStore conversationStore;
+    private final Executor chatbotExecutor;
+    private final boolean asyncEnabled;
 
+    public ChatbotController(LLMService llmService,
+                             ConversationStore conversationStore,
+                             @Qualifier("chatbotExecutor") Executor chatbotExecutor,
+                             @Value("${chatbot.async.enabled:false}") boolean asyncEnabled) {
+        this.llmService = llmService;
+        this.conversationStore = conversationStore;
+        this.chatbotExecutor = chatbotExecutor;
+        this.asyncEnabled = asyncEnabled;
+    }
+
+    /**
+     * chatbot.async.enabled=true 이면 비동기 클라이언트로 응답을 생성하고,
+     * 외부 API 응답을 기다리는 동안 Tomcat 요청 스레드를 반환한다.
+     */
     @PostMapping("/question")
-    public ResponseEntity<ChatbotResponse> askQuestion(@RequestBody ChatbotQuestionRequest request) {
+    public CompletableFuture<ResponseEntity<ChatbotResponse>> askQuestion(@RequestBody ChatbotQuestionRequest request) {
+        if (!asyncEnabled) {
+            return CompletableFuture.completedFuture(answer(request));
+        }
+
+        log.info("챗봇 질문 받음 (비동기): {}", request.getQuestion());
+        String owner = currentOwner();
+        return llmService.generateResponseAsync(request.getQuestion(), history(owner, request))
+                .thenApply(response -> {
+                    record(owner, request, response);
+                    log.info("챗봇 응답 생성 완료");
+                    return ResponseEntity.ok(new ChatbotResponse(response));
+                })
+                .exceptionally(e -> {
+                    log.error("챗봇 응답 생성 중 오류 발생", e);
+                    return ResponseEntity.internalServerError()
+                            .body(new ChatbotResponse("죄송합니다. 일시적인 오류가 발생했습니다."));
+                });
+    }
+
+    @PostMapping(value = "/question/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter askQuestionStream(@RequestBody ChatbotQuestionRequest request) {
+        log.info("챗봇 스트리밍 질문 받음: {}", request.getQuestion());
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        String owner = currentOwner();
+
+        // 요청 스레드는 바로 반환하고, 생성되는 응답 조각을 도착하는 대로 SSE 이벤트로 전송
+        try {
+            chatbotExecutor.execute(() -> stream(emitter, owner, request));
+        } catch (RejectedExecutionException e) {
+            // 스레드와 대기열이 모두 찼으면 500 대신 error 이벤트로 알리고 바로 종료
+            log.warn("챗봇 스트리밍 실행기 포화, 요청 거절: {}", e.getMessage());
+            send(emitter, "error", BUSY_MESSAGE);
+            emitter.complete();
+        }
+
+        return emitter;
+    }
+
+    @GetMapping("/health")
+    public ResponseEntity<String> health() {
+        return ResponseEntity.ok("Chatbot service is running");
+    }
+
+    private void stream(SseEmitter emitter, String owner, ChatbotQuestionRequest request) {
+        try {
+            StringBuilder answer = new StringBuilder();
+            llmService.streamResponse(request.getQuestion(), history(owner, request), chunk -> {
+                answer.append(chunk);
+                send(emitter, "message", chunk);
+            });
+            record(owner, request, answer.toString());
+            send(emitter, "done", "");
+            emitter.complete();
+            log.info("챗봇 스트리밍 응답 완료");
+        } catch (Exception e) {
+            log.error("챗봇 스트리밍 응답 중 오류 발생", e);
+            try {
+                send(emitter, "error", "죄송합니다. 일시적인 오류가 발생했습니다.");
+                emitter.complete();
+            } catch (Exception sendError) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private ResponseEntity<ChatbotResponse> answer(ChatbotQuestionRequest request) {
         try {
             log.info("챗봇 질문 받음: {}", request.getQuestion());
-            // LLM 서비스를 통해 응답 생성
-            String response = llmService.generateResponse(request.getQuestion());
+            // LLM 서비스를 통해 응답 생성 (세션이 있으면 이전 대화 포함)
+            String owner = currentOwner();
+            String response = llmService.generateResponse(request.getQuestion(), history(owner, request));
+            record(owner, request, response);
             
             ChatbotResponse chatbotResponse = new ChatbotResponse(response);
             log.info("챗봇 응답 생성 완료");
@@ -35,8 +139,45 @@ public class ChatbotController {
         }
     }
 
-    @GetMapping("/health")
-    public ResponseEntity<String> health() {
-        return ResponseEntity.ok("Chatbot service is running");
+    private List<ConversationTurn> history(String owner, ChatbotQuestionRequest request) {
+        if (!hasSession(owner, request)) {
+            return Collections.emptyList();
+        }
+        return conversationStore.history(owner, request.getSessionId());
+    }
+
+    // 오류 안내 문구는 이력에 남기지 않음
+    private void record(String owner, ChatbotQuestionRequest request, String answer) {
+        if (hasSession(owner, request) && llmService.isCacheable(answer)) {
+            conversationStore.record(owner, request.getSessionId(), request.getQuestion(), answer);
+        }
+    }
+
+    /**
+     * 대화 이력은 로그인 사용자에게만 제공한다.
+     * 익명 요청은 클라이언트가 정한 sessionId 를 추측/재사용해 다른 방문자의 대화를 읽을 수 있으므로 sessionId 를 무시한다.
+     */
+    private static boolean hasSession(String owner, ChatbotQuestionRequest request) {
+        return owner != null && StringUtils.hasText(request.getSessionId());
+    }
+
+    // 로그인 사용자의 ID (익명이면 null)
+    private String currentOwner() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private void send(SseEmitter emitter, String eventName, String text) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(eventName)
+                    .data(new ChatbotResponse(text), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
-} 
\ No newline at end of file
+}
@@ -1,15 +1,37 @@
 package com.example.demospringboot.controllers;
 
+import com.example.demospringboot.resilience.CircuitBreaker;
+import com.example.demospringboot.resilience.UpstreamGuards;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 @RestController
 @RequestMapping("/api/health")
+@RequiredArgsConstructor
 public class HealthCheckController {
+
+    private static final String UP = "UP";
+    private static final String DOWN = "DOWN";
+
+    private final UpstreamGuards upstreamGuards;
+
     @GetMapping("/healthCheck")
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("OK");
     }
-}
\ No newline at end of file
+
+    // 외부 API 별 UP / DOWN (서킷이 열려 있으면 DOWN), 자세한 상태는 관리자용 GET /api/admin/upstreams
+    @GetMapping("/upstreams")
+    public ResponseEntity<Map<String, String>> upstreams() {
+        Map<String, String> status = new TreeMap<>();
+        upstreamGuards.stats().forEach((name, stats) ->
+                status.put(name, stats.getState() == CircuitBreaker.State.OPEN ? DOWN : UP));
+        return ResponseEntity.ok(status);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demospringboot.controllers;
+
+import com.example.demospringboot.tracing.Trace;
+import com.example.demospringboot.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class TraceController {
+
+    private final Tracer tracer;
+
+    // 최근 가장 느린 요청의 단계별 소요 시간 (느린 순)
+    @GetMapping("/traces")
+    public ResponseEntity<List<Trace>> slowestTraces(@RequestParam(defaultValue = "20") int limit) {
+        List<Trace> traces = tracer.slowestTraces();
+        return ResponseEntity.ok(traces.subList(0, Math.min(Math.max(limit, 0), traces.size())));
+    }
+}
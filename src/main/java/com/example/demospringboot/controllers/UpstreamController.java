@@ -0,0 +1,25 @@
+package com.example.demospringboot.controllers;
+
+import com.example.demospringboot.resilience.UpstreamGuard;
+import com.example.demospringboot.resilience.UpstreamGuards;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class UpstreamController {
+
+    private final UpstreamGuards upstreamGuards;
+
+    // 외부 API 별 서킷 상태, 실패율, 남은 동시 호출 수, 거절/재시도/헤지 횟수
+    @GetMapping("/upstreams")
+    public ResponseEntity<Map<String, UpstreamGuard.Stats>> upstreams() {
+        return ResponseEntity.ok(upstreamGuards.stats());
+    }
+}
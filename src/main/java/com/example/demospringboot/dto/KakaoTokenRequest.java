@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class KakaoTokenRequest {
     private String accessToken;
+    private String deviceId; // 기기별로 리프레시 토큰을 따로 관리 (없으면 기본 기기)
 
     // Getter, Setter
     public String getAccessToken() {
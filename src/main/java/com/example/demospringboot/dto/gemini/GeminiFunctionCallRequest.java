@@ -1,22 +1,31 @@
 package com.example.demospringboot.dto.gemini;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class GeminiFunctionCallRequest {
     private List<Content> contents;
-    private List<Tool> tools;
+
+    // ToolRegistry 가 기동 시 한 번 직렬화한 tools 배열 JSON 을 그대로 기록
+    // 등록된 도구가 없으면 "tools":null 대신 필드를 생략 (Gemini 는 null 을 잘못된 요청으로 거부)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonRawValue
+    private String tools;
     
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
     public static class Content {
+        private String role; // user / model
         private List<Part> parts;
     }
     
@@ -40,31 +49,6 @@ public class GeminiFunctionCallRequest {
     public static class FunctionDeclaration {
         private String name;
         private String description;
-        private Schema parameters;
-    }
-    
-    @Data
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class Schema {
-        private String type;
-        private Properties properties;
-        private List<String> required;
-    }
-    
-    @Data
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class Properties {
-        private Property city;
-        private Property countryCode;
-    }
-    
-    @Data
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class Property {
-        private String type;
-        private String description;
+        private Map<String, Object> parameters; // JSON Schema
     }
-} 
\ No newline at end of file
+}
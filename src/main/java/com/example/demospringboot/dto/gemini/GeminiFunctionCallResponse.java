@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -43,15 +44,7 @@ public class GeminiFunctionCallResponse {
     @AllArgsConstructor
     public static class FunctionCall {
         private String name;
-        private Arguments args;
-    }
-    
-    @Data
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class Arguments {
-        private String city;
-        private String countryCode;
+        private Map<String, Object> args;
     }
     
     @Data
@@ -10,4 +10,5 @@ import lombok.NoArgsConstructor;
 public class ChatbotQuestionRequest {
     private String question;
     private String answer;
+    private String sessionId; // 있으면 같은 세션의 이전 대화를 이어서 답변
 } 
\ No newline at end of file
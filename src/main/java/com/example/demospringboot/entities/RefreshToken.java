@@ -8,8 +8,19 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * 사용자 + 기기별 리프레시 토큰 패밀리. 토큰 원문 대신 패밀리 ID 와 현재 세대만 저장하고,
+ * 재발급 시 행을 지우고 새로 넣지 않고 세대를 1 올리는 조건부 update 한 번으로 처리한다.
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_refresh_tokens_user_device", columnNames = {"user_id", "device_id"})
+        },
+        indexes = {
+                @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id", unique = true),
+                @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+        })
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,11 +31,18 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(name = "user_id")
+    @Column(name = "user_id", nullable = false)
     private Long userId;
+
+    @Column(name = "device_id", nullable = false, length = 64)
+    private String deviceId;
     
-    @Column(unique = true)
-    private String token;
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    // 마지막으로 발급한 토큰의 세대. 이보다 낮은 세대의 토큰이 오면 재사용으로 간주
+    @Column(name = "generation", nullable = false)
+    private long generation;
     
     @Column(name = "expires_at")
     private LocalDateTime expiresAt;
@@ -36,4 +54,4 @@ public class RefreshToken {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
     }
-} 
\ No newline at end of file
+}
@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        // 로그인 시 (provider, provider_id) 로 조회하고 동시 최초 로그인의 중복 가입을 막음
+        @UniqueConstraint(name = "uk_users_provider_provider_id", columnNames = {"provider", "provider_id"})
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,95 @@
+package com.example.demospringboot.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API 와 인증 경로의 지연 시간 타이머.
+ * 타이머는 기동 시 한 번만 등록해 두고, 호출 쪽은 System.nanoTime() 시작값만 넘기므로
+ * 요청마다 태그 조회나 Timer.Sample 객체 생성이 없다.
+ * Prometheus 에서 histogram_quantile 로 p50/p99 를 구할 수 있도록 퍼센타일 히스토그램을 내보낸다.
+ */
+@Component
+public class AppMetrics {
+
+    private final Latency geminiFunctionCall;
+    private final Latency geminiStream;
+    private final Latency openWeather;
+    private final Latency kakao;
+    private final Latency jwtVerify;
+    private final Latency userLookup;
+
+    public AppMetrics(MeterRegistry registry) {
+        Duration upstreamMin = Duration.ofMillis(1);
+        Duration upstreamMax = Duration.ofSeconds(30);
+        this.geminiFunctionCall = new Latency(registry, "upstream.requests", "gemini", "function_call", upstreamMin, upstreamMax);
+        this.geminiStream = new Latency(registry, "upstream.requests", "gemini", "stream", upstreamMin, upstreamMax);
+        this.openWeather = new Latency(registry, "upstream.requests", "openweather", "current_weather", upstreamMin, upstreamMax);
+        this.kakao = new Latency(registry, "upstream.requests", "kakao", "user_info", upstreamMin, upstreamMax);
+
+        Duration authMin = Duration.ofNanos(1_000);
+        Duration authMax = Duration.ofSeconds(1);
+        this.jwtVerify = new Latency(registry, "auth.jwt.verify", null, null, authMin, authMax);
+        this.userLookup = new Latency(registry, "auth.user.lookup", null, null, authMin, authMax);
+    }
+
+    public Latency geminiFunctionCall() {
+        return geminiFunctionCall;
+    }
+
+    public Latency geminiStream() {
+        return geminiStream;
+    }
+
+    public Latency openWeather() {
+        return openWeather;
+    }
+
+    public Latency kakao() {
+        return kakao;
+    }
+
+    public Latency jwtVerify() {
+        return jwtVerify;
+    }
+
+    public Latency userLookup() {
+        return userLookup;
+    }
+
+    /**
+     * 성공/실패(outcome 태그) 타이머 한 쌍.
+     */
+    public static final class Latency {
+
+        private final Timer success;
+        private final Timer error;
+
+        private Latency(MeterRegistry registry, String name, String upstream, String operation,
+                        Duration minimumExpected, Duration maximumExpected) {
+            this.success = timer(registry, name, upstream, operation, "success", minimumExpected, maximumExpected);
+            this.error = timer(registry, name, upstream, operation, "error", minimumExpected, maximumExpected);
+        }
+
+        public void record(long startNanos, boolean succeeded) {
+            (succeeded ? success : error).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private static Timer timer(MeterRegistry registry, String name, String upstream, String operation,
+                                   String outcome, Duration minimumExpected, Duration maximumExpected) {
+            Timer.Builder builder = Timer.builder(name)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(minimumExpected)
+                    .maximumExpectedValue(maximumExpected);
+            if (upstream != null) {
+                builder.tag("upstream", upstream).tag("operation", operation);
+            }
+            return builder.register(registry);
+        }
+    }
+}
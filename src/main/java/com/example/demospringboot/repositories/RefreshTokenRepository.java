@@ -2,14 +2,54 @@ package com.example.demospringboot.repositories;
 
 import com.example.demospringboot.entities.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByUserId(Long userId);
-    Optional<RefreshToken> findByToken(String token);
-    void deleteByUserId(Long userId);
-    void deleteByToken(String token);
-} 
\ No newline at end of file
+
+    // 사용자 + 기기 행을 새 패밀리로 교체 (갱신된 행이 없으면 0)
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.familyId = :familyId, t.generation = 0, t.expiresAt = :expiresAt "
+            + "where t.userId = :userId and t.deviceId = :deviceId")
+    int replaceFamily(@Param("userId") Long userId,
+                      @Param("deviceId") String deviceId,
+                      @Param("familyId") String familyId,
+                      @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 세대가 일치하고 만료되지 않았을 때만 세대를 1 올림 (compare-and-increment, 실패하면 0)
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.generation = t.generation + 1, t.expiresAt = :expiresAt "
+            + "where t.familyId = :familyId and t.userId = :userId "
+            + "and t.generation = :generation and t.expiresAt > :now")
+    int advanceGeneration(@Param("userId") Long userId,
+                          @Param("familyId") String familyId,
+                          @Param("generation") long generation,
+                          @Param("expiresAt") LocalDateTime expiresAt,
+                          @Param("now") LocalDateTime now);
+
+    Optional<RefreshToken> findByUserIdAndFamilyId(Long userId, String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.userId = :userId and t.familyId = :familyId")
+    int deleteFamily(@Param("userId") Long userId, @Param("familyId") String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
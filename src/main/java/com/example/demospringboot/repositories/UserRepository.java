@@ -2,12 +2,27 @@ package com.example.demospringboot.repositories;
 
 import com.example.demospringboot.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByProviderAndProviderId(String provider, String providerId);
     Optional<User> findByEmail(String email);
-} 
\ No newline at end of file
+
+    // 엔티티를 읽어 오지 않고 프로필 컬럼만 갱신
+    @Transactional
+    @Modifying
+    @Query("update User u set u.nickname = :nickname, u.profileImage = :profileImage, u.updatedAt = :updatedAt "
+            + "where u.id = :id")
+    int updateProfile(@Param("id") Long id,
+                      @Param("nickname") String nickname,
+                      @Param("profileImage") String profileImage,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+}
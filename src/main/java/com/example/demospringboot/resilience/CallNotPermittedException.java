@@ -0,0 +1,11 @@
+package com.example.demospringboot.resilience;
+
+/**
+ * 서킷이 열려 있거나 벌크헤드가 가득 차서 외부 API 를 호출하지 않고 거절한 경우.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demospringboot.resilience;
+
+import com.example.demospringboot.config.ResilienceProperties;
+
+/**
+ * 호출 건수 기반 슬라이딩 윈도우 서킷 브레이커.
+ * CLOSED 에서 실패율이 임계치를 넘으면 OPEN, open-duration 이 지나면 HALF_OPEN 으로
+ * half-open-calls 건만 통과시켜 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN.
+ * 상태 전이 구간이 짧아 단순히 synchronized 로 보호한다.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationMillis;
+    private final int halfOpenCalls;
+
+    // 최근 호출 결과 링 버퍼 (true = 실패)
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(ResilienceProperties.Policy policy) {
+        this.failureRateThreshold = policy.getFailureRateThreshold();
+        this.minimumCalls = Math.max(1, policy.getMinimumCalls());
+        this.openDurationMillis = policy.getOpenDurationMs();
+        this.halfOpenCalls = Math.max(1, policy.getHalfOpenCalls());
+        this.outcomes = new boolean[Math.max(1, policy.getSlidingWindowSize())];
+    }
+
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+                open();
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // 현재 윈도우의 실패율 (0 ~ 100)
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0.0 : failures * 100.0 / recorded;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.demospringboot.resilience;
+
+import com.example.demospringboot.config.ResilienceProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 외부 API 하나에 대한 호출 보호막.
+ * 벌크헤드(동시 호출 수 제한) → 서킷 브레이커 → 호출 순서로 감싸고,
+ * 실패하면 deadline 안에서 지터를 준 지수 백오프로 재시도한다.
+ * 비동기 호출은 hedge-delay 가 지나도 응답이 없으면 같은 요청을 한 번 더 보내 먼저 온 응답을 사용한다.
+ * 결과가 정해지면(성공, 실패, deadline 초과) 아직 진행 중인 시도(진 헤지 요청, 시간 초과된 시도)를 취소해
+ * 벌크헤드 자리와 커넥션을 바로 돌려준다. 취소가 실제 HTTP 교환까지 닿으려면 supplier 가 돌려주는 future 를
+ * 취소했을 때 요청이 중단돼야 한다 (cancelling 참고).
+ */
+@Slf4j
+public class UpstreamGuard {
+
+    private final String name;
+    private final ResilienceProperties.Policy policy;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+
+    public UpstreamGuard(String name, ResilienceProperties.Policy policy) {
+        this.name = name;
+        this.policy = policy;
+        this.circuitBreaker = new CircuitBreaker(policy);
+        this.bulkhead = new Semaphore(policy.getMaxConcurrentCalls());
+    }
+
+    /**
+     * 재시도를 포함한 동기 호출.
+     */
+    public <T> T call(Supplier<T> supplier) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(policy.getDeadlineMs());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attempt(supplier);
+            } catch (RuntimeException e) {
+                long backoff = nextBackoff(attempt, e, deadline);
+                if (backoff < 0) {
+                    throw e;
+                }
+                log.debug("{} 호출 재시도: attempt={}, backoff={}ms, cause={}", name, attempt + 1, backoff, e.toString());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 재시도 없는 동기 호출. 응답을 조각으로 흘려보내는 스트리밍처럼 다시 보내면 안 되는 호출에 사용.
+     */
+    public <T> T callOnce(Supplier<T> supplier) {
+        return attempt(supplier);
+    }
+
+    /**
+     * 재시도와 헤지 요청을 포함한 비동기 호출. deadline 이 지나면 TimeoutException 으로 완료된다.
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> supplier) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(policy.getDeadlineMs());
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Set<Attempt<T>> inFlight = ConcurrentHashMap.newKeySet();
+        // 성공하면 남은 시도는 다른 시도가 이긴 것이고, 그 외(실패, 시간 초과, 호출자 취소)는 응답을 받지 못한 것
+        result.whenComplete((value, error) -> inFlight.forEach(attempt -> attempt.abandon(error == null)));
+        attemptAsync(supplier, 1, deadline, result, inFlight);
+        return result.orTimeout(policy.getDeadlineMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * derived 가 취소되면 source 도 취소한다.
+     * JDK HttpClient 는 sendAsync 가 돌려준 future 를 취소해야 교환을 중단하므로,
+     * thenApply 등으로 이어 붙인 future 를 supplier 결과로 돌려줄 때 사용한다.
+     */
+    public static <T> CompletableFuture<T> cancelling(CompletableFuture<?> source, CompletableFuture<T> derived) {
+        derived.whenComplete((value, error) -> {
+            if (derived.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return derived;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Stats stats() {
+        return new Stats(circuitBreaker.getState(), circuitBreaker.getFailureRate(),
+                bulkhead.availablePermits(), rejectedCalls.sum(), retries.sum(), hedges.sum());
+    }
+
+    private <T> T attempt(Supplier<T> supplier) {
+        acquire();
+        try {
+            T result = supplier.get();
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            recordFailure(e);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private <T> void attemptAsync(Supplier<CompletableFuture<T>> supplier, int attempt, long deadline,
+                                  CompletableFuture<T> result, Set<Attempt<T>> inFlight) {
+        // 백오프를 기다리는 사이 deadline 이 지났으면 더 보내지 않음
+        if (result.isDone()) {
+            return;
+        }
+        hedged(supplier, result, inFlight).whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            long backoff = nextBackoff(attempt, cause, deadline);
+            if (backoff < 0 || result.isDone()) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            log.debug("{} 비동기 호출 재시도: attempt={}, backoff={}ms, cause={}", name, attempt + 1, backoff, cause.toString());
+            CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS)
+                    .execute(() -> attemptAsync(supplier, attempt + 1, deadline, result, inFlight));
+        });
+    }
+
+    private <T> CompletableFuture<T> hedged(Supplier<CompletableFuture<T>> supplier, CompletableFuture<T> result,
+                                           Set<Attempt<T>> inFlight) {
+        if (policy.getHedgeDelayMs() <= 0) {
+            return start(supplier, result, inFlight);
+        }
+
+        // 먼저 성공한 응답을 사용하고, 둘 다 실패했을 때만 실패로 처리
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        BiConsumer<T, Throwable> onComplete = (value, error) -> {
+            if (error == null) {
+                first.complete(value);
+            } else if (outstanding.decrementAndGet() == 0) {
+                first.completeExceptionally(error);
+            }
+        };
+
+        start(supplier, result, inFlight).whenComplete(onComplete);
+        CompletableFuture.delayedExecutor(policy.getHedgeDelayMs(), TimeUnit.MILLISECONDS).execute(() -> {
+            // 이미 끝났으면(성공 또는 단독 실패) 헤지하지 않음. 실패는 재시도가 담당
+            if (first.isDone() || result.isDone() || outstanding.getAndIncrement() == 0) {
+                return;
+            }
+            hedges.increment();
+            start(supplier, result, inFlight).whenComplete(onComplete);
+        });
+        return first;
+    }
+
+    // 시도 하나를 시작하고 결과가 정해질 때 취소할 수 있도록 inFlight 에 등록
+    private <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> supplier, CompletableFuture<T> result,
+                                           Set<Attempt<T>> inFlight) {
+        try {
+            acquire();
+        } catch (CallNotPermittedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<T> call;
+        try {
+            call = supplier.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        Attempt<T> attempt = new Attempt<>(call);
+        inFlight.add(attempt);
+        CompletableFuture<T> guarded = call.whenComplete((value, error) -> {
+            inFlight.remove(attempt);
+            bulkhead.release();
+            if (error == null) {
+                circuitBreaker.onSuccess();
+            } else if (call.isCancelled()) {
+                // 다른 시도가 이겨서 취소했으면 외부 API 는 정상, deadline 초과로 취소했으면 실패
+                if (attempt.wonElsewhere) {
+                    circuitBreaker.onSuccess();
+                } else {
+                    circuitBreaker.onFailure();
+                }
+            } else {
+                recordFailure(unwrap(error));
+            }
+        });
+        // 등록하는 사이 결과가 정해졌으면 바로 취소
+        if (result.isDone()) {
+            attempt.abandon(!result.isCompletedExceptionally());
+        }
+        return guarded;
+    }
+
+    // 벌크헤드 → 서킷 순서로 허가를 받음. 서킷이 거절하면 벌크헤드 자리를 돌려줌
+    private void acquire() {
+        if (!bulkhead.tryAcquire()) {
+            rejectedCalls.increment();
+            throw new CallNotPermittedException(name + " 동시 호출 한도 초과");
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            rejectedCalls.increment();
+            throw new CallNotPermittedException(name + " 서킷 브레이커 열림");
+        }
+    }
+
+    private void recordFailure(Throwable error) {
+        if (isUpstreamFailure(error)) {
+            circuitBreaker.onFailure();
+        } else {
+            // 잘못된 요청(4xx)은 외부 API 장애가 아니므로 성공으로 집계
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    // 재시도할 수 없으면 -1
+    private long nextBackoff(int attempt, Throwable error, long deadline) {
+        if (attempt >= policy.getMaxAttempts()
+                || error instanceof CallNotPermittedException
+                || !isUpstreamFailure(error)) {
+            return -1;
+        }
+        long ceiling = Math.min(policy.getMaxBackoffMs(), policy.getBackoffMs() << Math.min(attempt - 1, 20));
+        long backoff = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) >= deadline) {
+            return -1;
+        }
+        retries.increment();
+        return backoff;
+    }
+
+    // 5xx, 429, 타임아웃, 연결 오류는 외부 API 장애로 본다
+    static boolean isUpstreamFailure(Throwable error) {
+        if (error instanceof HttpClientErrorException clientError) {
+            return clientError.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        if (error instanceof UpstreamStatusException statusError) {
+            int status = statusError.getStatusCode();
+            return status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return true;
+    }
+
+    // 진행 중인 시도 하나. abandon 하면 supplier 가 돌려준 future 를 취소한다
+    private static final class Attempt<T> {
+        private final CompletableFuture<T> call;
+        private volatile boolean wonElsewhere;
+
+        private Attempt(CompletableFuture<T> call) {
+            this.call = call;
+        }
+
+        private void abandon(boolean wonElsewhere) {
+            this.wonElsewhere = wonElsewhere;
+            call.cancel(true);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Stats {
+        private final CircuitBreaker.State state;
+        private final double failureRate;
+        private final int availableConcurrentCalls;
+        private final long rejectedCount;
+        private final long retryCount;
+        private final long hedgeCount;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demospringboot.resilience;
+
+import com.example.demospringboot.config.ResilienceProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 외부 API 이름(HttpClientPools 의 풀 이름과 동일)별 UpstreamGuard.
+ */
+@Slf4j
+public class UpstreamGuards {
+
+    private final ResilienceProperties properties;
+    private final Map<String, UpstreamGuard> guards = new ConcurrentHashMap<>();
+
+    public UpstreamGuards(ResilienceProperties properties) {
+        this.properties = properties;
+    }
+
+    public UpstreamGuard guard(String name) {
+        return guards.computeIfAbsent(name, key -> {
+            ResilienceProperties.Policy policy = properties.policy(key);
+            log.info("외부 API 장애 대응 정책: name={}, policy={}", key, policy);
+            return new UpstreamGuard(key, policy);
+        });
+    }
+
+    public Map<String, UpstreamGuard.Stats> stats() {
+        Map<String, UpstreamGuard.Stats> stats = new TreeMap<>();
+        guards.forEach((name, guard) -> stats.put(name, guard.stats()));
+        return stats;
+    }
+}
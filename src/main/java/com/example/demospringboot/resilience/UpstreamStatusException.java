@@ -0,0 +1,17 @@
+package com.example.demospringboot.resilience;
+
+import lombok.Getter;
+
+/**
+ * 비동기 클라이언트가 받은 2xx 가 아닌 응답. 상태 코드로 재시도 / 서킷 실패 여부를 판단한다.
+ */
+@Getter
+public class UpstreamStatusException extends RuntimeException {
+
+    private final int statusCode;
+
+    public UpstreamStatusException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+}
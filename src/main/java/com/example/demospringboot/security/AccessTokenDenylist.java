@@ -0,0 +1,133 @@
+package com.example.demospringboot.security;
+
+import com.example.demospringboot.utils.JwtClaims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그아웃 등으로 폐기한 액세스 토큰(jti) 목록.
+ * 요청마다 먼저 블룸 필터를 보고, 비트가 모두 켜진 경우에만 정확한 맵으로 오탐을 거른다.
+ * 대부분의 요청은 폐기되지 않은 토큰이므로 해시 몇 번과 배열 읽기로 끝난다.
+ * 항목은 토큰 exp 가 지나면 맵에서 지우고, 블룸 필터는 지울 수 없으므로 주기적으로 다시 만든다.
+ * 노드별 메모리에만 있으므로 여러 노드를 띄우면 폐기는 로그아웃을 처리한 노드에만 적용된다.
+ */
+@Component
+@Slf4j
+public class AccessTokenDenylist {
+
+    private static final int HASH_COUNT = 4;
+
+    private final int bitCount;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile AtomicLongArray bloom;
+
+    private final LongAdder bloomHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public AccessTokenDenylist(@Value("${jwt.denylist.bloom-bits:1048576}") int bitCount) {
+        if (bitCount < Long.SIZE || Integer.bitCount(bitCount) != 1) {
+            throw new IllegalArgumentException("bloom-bits must be a power of two >= 64: " + bitCount);
+        }
+        this.bitCount = bitCount;
+        this.bloom = new AtomicLongArray(bitCount / Long.SIZE);
+        log.info("액세스 토큰 폐기 목록: bloomBits={}", bitCount);
+    }
+
+    // 폐기는 로그아웃 때만 일어나므로 재구성과 겹치지 않도록 직렬화
+    public synchronized void revoke(JwtClaims claims) {
+        String tokenId = claims.getTokenId();
+        if (tokenId == null || claims.getExpiresAtMillis() <= System.currentTimeMillis()) {
+            return;
+        }
+        revoked.put(tokenId, claims.getExpiresAtMillis());
+        addToBloom(bloom, tokenId);
+    }
+
+    public boolean isRevoked(JwtClaims claims) {
+        String tokenId = claims.getTokenId();
+        if (tokenId == null || !mightContain(bloom, tokenId)) {
+            return false;
+        }
+        bloomHits.increment();
+        Long expiresAtMillis = revoked.get(tokenId);
+        if (expiresAtMillis == null) {
+            falsePositives.increment();
+            return false;
+        }
+        return expiresAtMillis > System.currentTimeMillis();
+    }
+
+    // 만료된 항목을 지우고 남은 항목으로 블룸 필터를 새로 만들어 교체
+    @Scheduled(fixedDelayString = "${jwt.denylist.rebuild-interval-ms:300000}",
+               initialDelayString = "${jwt.denylist.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAtMillis -> expiresAtMillis <= now);
+
+        AtomicLongArray rebuilt = new AtomicLongArray(bitCount / Long.SIZE);
+        revoked.keySet().forEach(tokenId -> addToBloom(rebuilt, tokenId));
+        bloom = rebuilt;
+        log.debug("액세스 토큰 폐기 목록 재구성: size={}", revoked.size());
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    public long getBloomHitCount() {
+        return bloomHits.sum();
+    }
+
+    public long getFalsePositiveCount() {
+        return falsePositives.sum();
+    }
+
+    private void addToBloom(AtomicLongArray bits, String tokenId) {
+        long hash = hash64(tokenId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = (h1 + i * h2) & (bitCount - 1);
+            long mask = 1L << bit;
+            int index = bit >>> 6;
+            long current;
+            do {
+                current = bits.get(index);
+            } while ((current & mask) == 0 && !bits.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    private boolean mightContain(AtomicLongArray bits, String tokenId) {
+        long hash = hash64(tokenId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = (h1 + i * h2) & (bitCount - 1);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64비트 FNV-1a 후 비트 섞기. 상위/하위 32비트를 두 개의 해시로 나눠 쓴다 (double hashing)
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        // 요청마다 호출되므로 byte[] 로 바꾸지 않고 문자 단위로 처리
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
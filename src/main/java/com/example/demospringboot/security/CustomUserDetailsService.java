@@ -1,21 +1,57 @@
 package com.example.demospringboot.security;
 
-import com.example.demospringboot.entities.User;
 import com.example.demospringboot.services.UserService;
-import lombok.RequiredArgsConstructor;
+import com.example.demospringboot.utils.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class CustomUserDetailsService implements UserDetailsService {
 
+    public static final String USER_AUTHORITY = "USER";
+    public static final String ADMIN_AUTHORITY = "ADMIN";
+
+    /**
+     * 인증된 요청의 principal 생성 방식.
+     * CLAIMS   : 검증된 JWT 의 사용자 ID 만으로 생성 (DB 조회 없음)
+     * CACHED   : 사용자 존재 여부를 DB 로 확인하되 결과를 TTL 캐시에 보관
+     * DATABASE : 요청마다 DB 조회 (기존 방식)
+     */
+    public enum PrincipalMode {
+        CLAIMS, CACHED, DATABASE
+    }
+
     private final UserService userService;
+    private final PrincipalMode mode;
+    private final Duration cacheTtl;
+    private final ExpiringCache<Long, UserDetails> principalCache;
+    private final Set<Long> adminUserIds;
+
+    public CustomUserDetailsService(UserService userService,
+                                    @Value("${security.principal.mode:cached}") String mode,
+                                    @Value("${security.principal.cache-ttl-seconds:300}") long cacheTtlSeconds,
+                                    @Value("${security.principal.cache-max-size:10000}") int cacheMaxSize,
+                                    @Value("${security.admin-user-ids:}") Set<Long> adminUserIds) {
+        this.userService = userService;
+        this.adminUserIds = Set.copyOf(adminUserIds);
+        this.mode = PrincipalMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.cacheTtl = Duration.ofSeconds(cacheTtlSeconds);
+        this.principalCache = new ExpiringCache<>(cacheMaxSize);
+        log.info("Principal 생성 방식: mode={}, cacheTtl={}, adminUsers={}", this.mode, this.cacheTtl, this.adminUserIds.size());
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -24,16 +60,57 @@ public class CustomUserDetailsService implements UserDetailsService {
     }
 
     public UserDetails loadUserById(Long userId) {
+        switch (mode) {
+            case CLAIMS:
+                return createUserDetails(userId);
+            case CACHED:
+                return loadCached(userId);
+            default:
+                return loadFromDatabase(userId);
+        }
+    }
+
+    // 사용자 정보가 바뀌거나 로그아웃할 때 캐시된 principal 제거
+    public void evict(Long userId) {
+        principalCache.invalidate(userId);
+    }
+
+    public PrincipalMode getMode() {
+        return mode;
+    }
+
+    public ExpiringCache.Stats cacheStats() {
+        return principalCache.stats();
+    }
+
+    private UserDetails loadCached(Long userId) {
+        UserDetails cached = principalCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        UserDetails userDetails = loadFromDatabase(userId);
+        if (userDetails != null) {
+            principalCache.put(userId, userDetails, cacheTtl);
+        }
+        return userDetails;
+    }
+
+    private UserDetails loadFromDatabase(Long userId) {
         return userService.findById(userId)
-                .map(this::createUserDetails)
+                .map(user -> createUserDetails(user.getId()))
                 .orElse(null);
     }
 
-    private UserDetails createUserDetails(User user) {
+    // security.admin-user-ids 에 있는 사용자만 ADMIN 권한 (/api/admin/**)
+    private UserDetails createUserDetails(Long userId) {
+        List<GrantedAuthority> authorities = adminUserIds.contains(userId)
+                ? List.of(new SimpleGrantedAuthority(USER_AUTHORITY), new SimpleGrantedAuthority(ADMIN_AUTHORITY))
+                : Collections.singletonList(new SimpleGrantedAuthority(USER_AUTHORITY));
         return org.springframework.security.core.userdetails.User.builder()
-                .username(String.valueOf(user.getId()))
+                .username(String.valueOf(userId))
                 .password("") // JWT에서는 패스워드가 필요 없음
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("USER")))
+                .authorities(authorities)
                 .build();
     }
-} 
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.example.demospringboot.security;
 
-import com.example.demospringboot.utils.JwtProvider;
+import com.example.demospringboot.metrics.AppMetrics;
+import com.example.demospringboot.utils.JwtClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,14 +16,17 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtProvider jwtProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final CustomUserDetailsService customUserDetailsService;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final AppMetrics metrics;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -31,10 +35,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         try {
             String token = getTokenFromRequest(request);
-            
-            if (StringUtils.hasText(token) && jwtProvider.validateToken(token)) {
-                Long userId = jwtProvider.getUserIdFromToken(token);
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+            // 서명 검증과 클레임 추출을 한 번의 파싱으로 처리 (캐시 활성화 시 재검증 생략)
+            Optional<JwtClaims> claims = verify(token);
+
+            if (claims.isPresent() && claims.get().isRefreshToken()) {
+                log.debug("리프레시 토큰으로는 인증할 수 없음");
+            } else if (claims.isPresent() && accessTokenDenylist.isRevoked(claims.get())) {
+                log.debug("폐기된 액세스 토큰: userId={}", claims.get().getUserId());
+            } else if (claims.isPresent()) {
+                Long userId = claims.get().getUserId();
+                UserDetails userDetails = loadUser(userId);
                 
                 if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authentication = 
@@ -53,6 +63,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // 토큰이 없는 요청은 측정하지 않음
+    private Optional<JwtClaims> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        Optional<JwtClaims> claims = verifiedTokenCache.verify(token);
+        metrics.jwtVerify().record(start, claims.isPresent());
+        return claims;
+    }
+
+    private UserDetails loadUser(Long userId) {
+        long start = System.nanoTime();
+        UserDetails userDetails = null;
+        try {
+            userDetails = customUserDetailsService.loadUserById(userId);
+            return userDetails;
+        } finally {
+            metrics.userLookup().record(start, userDetails != null);
+        }
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
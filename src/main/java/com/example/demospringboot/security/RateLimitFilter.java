@@ -0,0 +1,156 @@
+package com.example.demospringboot.security;
+
+import com.example.demospringboot.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 경로별 토큰 버킷 요청 속도 제한.
+ * JwtAuthenticationFilter 다음에 실행되어 인증된 요청은 사용자 ID, 그 외에는 클라이언트 IP 별로 버킷을 둔다.
+ * 토큰이 없으면 컨트롤러나 외부 API 를 거치지 않고 바로 429 를 반환한다.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"error\":\"Too many requests\",\"message\":\"요청이 너무 많습니다. 잠시 후 다시 시도해주세요.\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final boolean enabled;
+    private final long idleEvictNanos;
+    private final List<Route> routes = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.idleEvictNanos = TimeUnit.SECONDS.toNanos(properties.getIdleEvictSeconds());
+        // pattern 이 빠진 경로는 모든 요청이 NPE 로 실패하지 않도록 기동 시 거부
+        for (String name : properties.getRoutes().keySet()) {
+            routes.add(new Route(name, properties.resolveRoute(name)));
+        }
+        log.info("요청 속도 제한: enabled={}, routes={}", enabled, routes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || findRoute(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Route route = findRoute(request.getRequestURI());
+        String key = route.name + ":" + clientKey(request);
+
+        long waitNanos = buckets.computeIfAbsent(key, k -> route.newBucket()).tryConsume();
+        sweepIdleBuckets();
+
+        if (waitNanos > 0) {
+            rejected.increment();
+            log.debug("요청 속도 제한 초과: key={}", key);
+            reject(response, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private Route findRoute(String path) {
+        for (Route route : routes) {
+            if (pathMatcher.match(route.pattern, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        // 프록시 뒤에서는 server.forward-headers-strategy 설정으로 원래 클라이언트 IP 가 들어옴
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // 요청 처리 중에 가끔(idle-evict-seconds 의 절반마다) 한 스레드만 오래 쓰이지 않은 버킷을 정리
+    private void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        long last = lastSweep.get();
+        if (now - last < idleEvictNanos / 2 || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleEvictNanos));
+        log.debug("유휴 토큰 버킷 정리: {} -> {}", before, buckets.size());
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TOO_MANY_REQUESTS_BODY.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+    }
+
+    private static final class Route {
+        private final String name;
+        private final String pattern;
+        private final int capacity;
+        private final double refillPerSecond;
+
+        private Route(String name, RateLimitProperties.Route route) {
+            this.name = name;
+            this.pattern = route.getPattern();
+            this.capacity = route.getCapacity();
+            this.refillPerSecond = route.getRefillPerSecond();
+        }
+
+        private TokenBucket newBucket() {
+            return new TokenBucket(capacity, refillPerSecond);
+        }
+
+        @Override
+        public String toString() {
+            return name + "(" + pattern + ", capacity=" + capacity + ", refillPerSecond=" + refillPerSecond + ")";
+        }
+    }
+}
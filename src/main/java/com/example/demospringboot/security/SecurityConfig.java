@@ -1,6 +1,9 @@
 package com.example.demospringboot.security;
 
+import com.example.demospringboot.config.RateLimitProperties;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -10,24 +13,41 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           @Value("${server.port:8080}") int serverPort,
+                                           @Value("${management.server.port:-1}") int managementPort) throws Exception {
+        boolean separateManagementPort = managementPort > 0 && managementPort != serverPort;
+
         http
             .csrf(AbstractHttpConfigurer::disable)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                     .requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/api/health/**").permitAll()
+                    .requestMatchers("/actuator/health").permitAll()
+                    // 메트릭은 내부망에만 여는 관리 포트(management.server.port)로 들어온 요청만 공개하고,
+                    // 관리 포트를 따로 두지 않으면 관리자만 조회
+                    .requestMatchers(request -> separateManagementPort
+                            && request.getLocalPort() == managementPort
+                            && request.getRequestURI().startsWith("/actuator/")).permitAll()
+                    .requestMatchers("/actuator/**").hasAuthority(CustomUserDetailsService.ADMIN_AUTHORITY)
                     .requestMatchers("/api/test/**").permitAll()
                     .requestMatchers("/api/chatbot/**").permitAll()
+                    // 트레이스, 외부 API 상태 등 운영용 API 는 security.admin-user-ids 의 사용자만
+                    .requestMatchers("/api/admin/**").hasAuthority(CustomUserDetailsService.ADMIN_AUTHORITY)
                     .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // 인증 결과(사용자 ID)를 키로 쓰도록 JWT 필터 다음에 속도 제한
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
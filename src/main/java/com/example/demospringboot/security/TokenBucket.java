@@ -0,0 +1,47 @@
+package com.example.demospringboot.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 토큰 버킷.
+ * 토큰 수와 마지막 충전 시각 대신 "버킷이 다시 가득 차는 시각" 하나만 AtomicLong 으로 두고
+ * CAS 로 갱신한다 (GCRA). 용량 capacity, 초당 refillPerSecond 개 충전과 동일하게 동작한다.
+ */
+class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+
+    // 버킷이 가득 차는 시각 (System.nanoTime 기준). 현재 시각 이전이면 가득 찬 상태
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, double refillPerSecond) {
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 토큰 하나를 사용한다. 성공하면 0, 토큰이 없으면 다음 토큰까지 기다려야 하는 나노초.
+     */
+    long tryConsume() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long overflow = next - now - burstNanos;
+            if (overflow > 0) {
+                return overflow;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // 가득 찬 뒤로 idleNanos 이상 지났으면 제거해도 같은 상태로 다시 만들 수 있음
+    boolean isIdle(long now, long idleNanos) {
+        return now - fullAt.get() > idleNanos;
+    }
+}
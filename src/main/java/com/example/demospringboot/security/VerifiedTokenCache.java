@@ -0,0 +1,66 @@
+package com.example.demospringboot.security;
+
+import com.example.demospringboot.utils.Digests;
+import com.example.demospringboot.utils.ExpiringCache;
+import com.example.demospringboot.utils.JwtClaims;
+import com.example.demospringboot.utils.JwtProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Optional;
+
+/**
+ * 서명 검증을 마친 액세스 토큰의 클레임 캐시.
+ * 같은 토큰이 반복해서 들어오면 HMAC 검증과 파싱을 건너뛴다.
+ * 키는 토큰 원문이 아닌 SHA-256 해시이며, 항목은 토큰의 exp 시각에 만료된다.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final JwtProvider jwtProvider;
+    private final boolean enabled;
+    private final ExpiringCache<String, JwtClaims> cache;
+
+    public VerifiedTokenCache(JwtProvider jwtProvider,
+                              @Value("${jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.jwtProvider = jwtProvider;
+        this.enabled = enabled;
+        this.cache = new ExpiringCache<>(maxSize);
+        log.info("검증 토큰 캐시: enabled={}, maxSize={}", enabled, maxSize);
+    }
+
+    public Optional<JwtClaims> verify(String token) {
+        if (!enabled || !StringUtils.hasText(token)) {
+            return jwtProvider.verify(token);
+        }
+
+        String key = Digests.sha256(token);
+        JwtClaims cached = cache.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<JwtClaims> claims = jwtProvider.verify(token);
+        claims.ifPresent(verified -> cache.put(key, verified, verified.getExpiresAtMillis()));
+        return claims;
+    }
+
+    // 로그아웃 시 해당 사용자의 캐시 항목 제거
+    public void evictUser(Long userId) {
+        if (enabled) {
+            cache.invalidateIf(claims -> userId.equals(claims.getUserId()));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ExpiringCache.Stats stats() {
+        return cache.stats();
+    }
+}
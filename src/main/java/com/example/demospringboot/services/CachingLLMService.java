@@ -0,0 +1,181 @@
+package com.example.demospringboot.services;
+
+import com.example.demospringboot.services.conversation.ConversationTurn;
+import com.example.demospringboot.utils.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * LLMService 응답 캐시 데코레이터.
+ * 질문을 정규화(공백/대소문자/끝 문장부호)한 뒤 같은 질문이면 캐시된 응답을 반환한다.
+ * 날씨 질문은 실시간 정보이므로 기본적으로 캐시하지 않는다 (llm.cache.weather-ttl-seconds=0).
+ * 이전 대화가 있는 질문은 같은 문장이라도 답이 달라지므로 캐시를 거치지 않는다.
+ */
+@Service
+@Primary
+@Slf4j
+public class CachingLLMService implements LLMService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\s?!.~。？！]+$");
+
+    private final LLMService delegate;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration weatherTtl;
+    private final ExpiringCache<String, String> cache;
+
+    public CachingLLMService(@Qualifier("geminiLLMService") LLMService delegate,
+                             @Value("${llm.cache.enabled:true}") boolean enabled,
+                             @Value("${llm.cache.ttl-seconds:3600}") long ttlSeconds,
+                             @Value("${llm.cache.weather-ttl-seconds:0}") long weatherTtlSeconds,
+                             @Value("${llm.cache.max-size:1000}") int maxSize) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.weatherTtl = Duration.ofSeconds(weatherTtlSeconds);
+        this.cache = new ExpiringCache<>(maxSize);
+        log.info("LLM 응답 캐시: enabled={}, ttl={}, weatherTtl={}, maxSize={}", enabled, ttl, weatherTtl, maxSize);
+    }
+
+    @Override
+    public String generateResponse(String userQuestion) {
+        if (!enabled || userQuestion == null) {
+            return delegate.generateResponse(userQuestion);
+        }
+
+        String key = normalize(userQuestion);
+        Duration entryTtl = isWeatherQuestion(key) ? weatherTtl : ttl;
+        if (entryTtl.isZero() || entryTtl.isNegative()) {
+            return delegate.generateResponse(userQuestion);
+        }
+
+        String cached = cache.get(key);
+        if (cached != null) {
+            log.debug("LLM 응답 캐시 적중: {}", key);
+            return cached;
+        }
+
+        String answer = delegate.generateResponse(userQuestion);
+        if (delegate.isCacheable(answer)) {
+            cache.put(key, answer, entryTtl);
+        }
+        return answer;
+    }
+
+    @Override
+    public String generateResponse(String userQuestion, List<ConversationTurn> history) {
+        if (history == null || history.isEmpty()) {
+            return generateResponse(userQuestion);
+        }
+        return delegate.generateResponse(userQuestion, history);
+    }
+
+    @Override
+    public CompletableFuture<String> generateResponseAsync(String userQuestion) {
+        if (!enabled || userQuestion == null) {
+            return delegate.generateResponseAsync(userQuestion);
+        }
+
+        String key = normalize(userQuestion);
+        Duration entryTtl = isWeatherQuestion(key) ? weatherTtl : ttl;
+        if (entryTtl.isZero() || entryTtl.isNegative()) {
+            return delegate.generateResponseAsync(userQuestion);
+        }
+
+        String cached = cache.get(key);
+        if (cached != null) {
+            log.debug("LLM 응답 캐시 적중: {}", key);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return delegate.generateResponseAsync(userQuestion)
+                .thenApply(answer -> {
+                    if (delegate.isCacheable(answer)) {
+                        cache.put(key, answer, entryTtl);
+                    }
+                    return answer;
+                });
+    }
+
+    @Override
+    public CompletableFuture<String> generateResponseAsync(String userQuestion, List<ConversationTurn> history) {
+        if (history == null || history.isEmpty()) {
+            return generateResponseAsync(userQuestion);
+        }
+        return delegate.generateResponseAsync(userQuestion, history);
+    }
+
+    @Override
+    public void streamResponse(String userQuestion, Consumer<String> chunkConsumer) {
+        if (!enabled || userQuestion == null) {
+            delegate.streamResponse(userQuestion, chunkConsumer);
+            return;
+        }
+
+        String key = normalize(userQuestion);
+        Duration entryTtl = isWeatherQuestion(key) ? weatherTtl : ttl;
+        if (entryTtl.isZero() || entryTtl.isNegative()) {
+            delegate.streamResponse(userQuestion, chunkConsumer);
+            return;
+        }
+
+        String cached = cache.get(key);
+        if (cached != null) {
+            log.debug("LLM 응답 캐시 적중 (스트리밍): {}", key);
+            chunkConsumer.accept(cached);
+            return;
+        }
+
+        // 스트리밍으로 전달하면서 전체 응답을 모아 두었다가 완료 후 캐시
+        StringBuilder answer = new StringBuilder();
+        delegate.streamResponse(userQuestion, chunk -> {
+            answer.append(chunk);
+            chunkConsumer.accept(chunk);
+        });
+        if (delegate.isCacheable(answer.toString())) {
+            cache.put(key, answer.toString(), entryTtl);
+        }
+    }
+
+    @Override
+    public void streamResponse(String userQuestion, List<ConversationTurn> history, Consumer<String> chunkConsumer) {
+        if (history == null || history.isEmpty()) {
+            streamResponse(userQuestion, chunkConsumer);
+            return;
+        }
+        delegate.streamResponse(userQuestion, history, chunkConsumer);
+    }
+
+    @Override
+    public boolean isCacheable(String answer) {
+        return delegate.isCacheable(answer);
+    }
+
+    public ExpiringCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    // 캐시 TTL 결정용 분류. 라우팅은 Gemini 도구 호출이 담당하고 여기서는 실시간성만 판단
+    static boolean isWeatherQuestion(String normalizedQuestion) {
+        return normalizedQuestion.contains("날씨") ||
+               normalizedQuestion.contains("weather") ||
+               normalizedQuestion.contains("기온") ||
+               normalizedQuestion.contains("온도");
+    }
+
+    static String normalize(String question) {
+        String normalized = WHITESPACE.matcher(question.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return TRAILING_PUNCTUATION.matcher(normalized).replaceAll("");
+    }
+}
@@ -1,130 +1,382 @@
 package com.example.demospringboot.services;
 
+import com.example.demospringboot.config.AsyncHttpClient;
+import com.example.demospringboot.config.GeminiProperties;
+import com.example.demospringboot.config.HttpClientPools;
 import com.example.demospringboot.dto.gemini.GeminiFunctionCallRequest;
 import com.example.demospringboot.dto.gemini.GeminiFunctionCallResponse;
-import com.example.demospringboot.dto.gemini.GeminiRequest;
-import com.example.demospringboot.dto.gemini.GeminiResponse;
-import com.example.demospringboot.dto.openweather.OpenWeatherResponse;
-import lombok.RequiredArgsConstructor;
+import com.example.demospringboot.metrics.AppMetrics;
+import com.example.demospringboot.resilience.UpstreamGuard;
+import com.example.demospringboot.resilience.UpstreamGuards;
+import com.example.demospringboot.resilience.UpstreamStatusException;
+import com.example.demospringboot.services.conversation.ConversationTurn;
+import com.example.demospringboot.services.tools.LLMTool;
+import com.example.demospringboot.services.tools.ToolRegistry;
+import com.example.demospringboot.tracing.Span;
+import com.example.demospringboot.tracing.Tracer;
+import com.example.demospringboot.utils.RequestCoalescer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Arrays;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Gemini 기반 LLMService.
+ * 모든 질문을 도구(Function) 선언과 함께 한 번만 요청하고,
+ * 응답에 functionCall 이 있으면 도구를 실행하고 없으면 응답 텍스트를 그대로 반환한다.
+ * 한 응답에 functionCall 이 여러 개면 도구들을 동시에 실행해 결과를 이어 붙인다.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class GeminiLLMService implements LLMService {
 
-    private final RestTemplate restTemplate;
-    private final OpenWeatherService openWeatherService;
-
-    @Value("${gemini.api.key}")
-    private String apiKey;
+    private static final String GENERAL_ERROR_MESSAGE = "죄송합니다. 일시적인 오류가 발생했습니다. 잠시 후 다시 시도해주세요.";
+    private static final String UNKNOWN_TOOL_MESSAGE = "죄송합니다. 요청을 처리할 수 있는 기능이 없습니다.";
+    private static final String TOOL_RESULT_DELIMITER = "\n\n";
+    private static final String EMPTY_RESPONSE_MESSAGE = "죄송합니다. 응답을 생성할 수 없습니다.";
 
-    @Value("${gemini.api.url:https://generativelanguage.googleapis.com/v1beta/models/gemini-pro:generateContent}")
-    private String apiUrl;
+    private final RestTemplate restTemplate;
+    private final ToolRegistry toolRegistry;
+    private final ObjectMapper objectMapper;
+    private final Executor toolExecutor;
+    private final AppMetrics metrics;
+    private final Tracer tracer;
+
+    private final String apiKey;
+    private final String apiUrl;
+    private final String streamApiUrl;
+
+    private final AsyncHttpClient asyncHttpClient;
+    private final Duration asyncTimeout;
+    private final UpstreamGuard guard;
+    // gemini.dedup.enabled 가 아니면 null
+    private final RequestCoalescer<String, byte[]> coalescer;
+
+    // 질문당 Gemini 호출 수와 라우팅 결과 (functionCall / text)
+    private final LongAdder questions = new LongAdder();
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder functionCallRoutes = new LongAdder();
+    private final LongAdder textRoutes = new LongAdder();
+
+    public GeminiLLMService(@Qualifier("geminiRestTemplate") RestTemplate restTemplate,
+                            ToolRegistry toolRegistry,
+                            ObjectMapper objectMapper,
+                            HttpClientPools httpClientPools,
+                            @Qualifier("toolExecutor") Executor toolExecutor,
+                            UpstreamGuards upstreamGuards,
+                            AppMetrics metrics,
+                            Tracer tracer,
+                            GeminiProperties properties) {
+        if (!StringUtils.hasText(properties.getApi().getKey())) {
+            throw new IllegalStateException("gemini.api.key 가 설정되지 않았습니다.");
+        }
+        this.restTemplate = restTemplate;
+        this.toolRegistry = toolRegistry;
+        this.objectMapper = objectMapper;
+        this.toolExecutor = toolExecutor;
+        this.metrics = metrics;
+        this.tracer = tracer;
+        this.apiKey = properties.getApi().getKey();
+        this.apiUrl = properties.getApi().getUrl();
+        this.streamApiUrl = properties.getApi().getStreamUrl();
+        this.asyncHttpClient = httpClientPools.asyncClient(HttpClientPools.GEMINI);
+        this.asyncTimeout = httpClientPools.readTimeout(HttpClientPools.GEMINI);
+        this.guard = upstreamGuards.guard(HttpClientPools.GEMINI);
+        if (properties.getDedup().isEnabled()) {
+            this.coalescer = new RequestCoalescer<>(this::sendAsync);
+            log.info("Gemini 중복 요청 합치기 사용");
+        } else {
+            this.coalescer = null;
+        }
+    }
 
     @Override
     public String generateResponse(String userQuestion) {
+        return generateResponse(userQuestion, Collections.emptyList());
+    }
+
+    @Override
+    public String generateResponse(String userQuestion, List<ConversationTurn> history) {
         try {
             log.debug("Gemini API 호출 시작: {}", userQuestion);
+            questions.increment();
 
-            // 날씨 관련 질문인지 확인
-            if (isWeatherQuestion(userQuestion)) {
-                return handleWeatherQuestion(userQuestion);
-            }
+            // 1. 도구 선언을 포함한 한 번의 요청으로 텍스트 응답 또는 functionCall 을 받음
+            GeminiFunctionCallResponse response = callFunctionCallAPI(createFunctionCallRequest(userQuestion, history));
 
-            // 일반 질문 처리
-            return handleGeneralQuestion(userQuestion);
+            // 2. 응답 종류에 따라 처리
+            return dispatch(response);
 
         } catch (Exception e) {
             log.error("Gemini API 호출 중 오류 발생", e);
-            return "죄송합니다. 일시적인 오류가 발생했습니다. 잠시 후 다시 시도해주세요.";
+            return GENERAL_ERROR_MESSAGE;
         }
     }
 
-    private boolean isWeatherQuestion(String question) {
-        String lowerQuestion = question.toLowerCase();
-        return lowerQuestion.contains("날씨") || 
-               lowerQuestion.contains("weather") || 
-               lowerQuestion.contains("기온") || 
-               lowerQuestion.contains("온도");
+    /**
+     * 비동기 응답 생성. Gemini / OpenWeather 응답을 기다리는 동안 호출 스레드를 점유하지 않는다.
+     */
+    @Override
+    public CompletableFuture<String> generateResponseAsync(String userQuestion) {
+        return generateResponseAsync(userQuestion, Collections.emptyList());
     }
 
-    private String handleWeatherQuestion(String userQuestion) {
+    @Override
+    public CompletableFuture<String> generateResponseAsync(String userQuestion, List<ConversationTurn> history) {
+        log.debug("Gemini 비동기 API 호출 시작: {}", userQuestion);
+        questions.increment();
+
+        return postAsync(createFunctionCallRequest(userQuestion, history), GeminiFunctionCallResponse.class)
+                .thenCompose(tracer.wrap(this::dispatchAsync))
+                .exceptionally(e -> {
+                    log.error("Gemini API 비동기 호출 중 오류 발생", e);
+                    return GENERAL_ERROR_MESSAGE;
+                });
+    }
+
+    @Override
+    public void streamResponse(String userQuestion, Consumer<String> chunkConsumer) {
+        streamResponse(userQuestion, Collections.emptyList(), chunkConsumer);
+    }
+
+    @Override
+    public void streamResponse(String userQuestion, List<ConversationTurn> history, Consumer<String> chunkConsumer) {
+        log.debug("Gemini 스트리밍 API 호출 시작: {}", userQuestion);
+        questions.increment();
+        upstreamCalls.increment();
+
+        // 1. 요청 바디 생성 (도구 선언 포함)
+        GeminiFunctionCallRequest request = createFunctionCallRequest(userQuestion, history);
+
+        // 2. API URL에 API 키 추가 (alt=sse: Server-Sent Events 형식으로 응답)
+        String urlWithKey = resolveStreamApiUrl() + "?alt=sse&key=" + apiKey;
+
+        // 3. 응답을 버퍼링하지 않고 data: 줄이 도착하는 대로 파싱해서 전달
+        //    (이미 보낸 조각이 중복되지 않도록 재시도 없이 서킷/벌크헤드만 적용)
+        long start = System.nanoTime();
+        Span span = tracer.startSpan("gemini.stream");
+        boolean succeeded = false;
         try {
-            log.debug("날씨 질문 처리 시작: {}", userQuestion);
-
-            // 1. Function Calling 요청 생성
-            GeminiFunctionCallRequest request = createFunctionCallRequest(userQuestion);
-
-            // 2. Function Calling API 호출
-            GeminiFunctionCallResponse response = callFunctionCallAPI(request);
-
-            // 3. Function Call 결과 처리
-            if (response != null && response.getCandidates() != null && !response.getCandidates().isEmpty()) {
-                GeminiFunctionCallResponse.Candidate candidate = response.getCandidates().get(0);
-                
-                if (candidate.getContent() != null && candidate.getContent().getParts() != null) {
-                    for (GeminiFunctionCallResponse.Part part : candidate.getContent().getParts()) {
-                        if (part.getFunctionCall() != null) {
-                            return executeWeatherFunction(part.getFunctionCall());
+            streamOnce(urlWithKey, request, chunkConsumer);
+            succeeded = true;
+        } finally {
+            metrics.geminiStream().record(start, succeeded);
+            span.end(succeeded);
+        }
+
+        log.debug("Gemini 스트리밍 응답 완료");
+    }
+
+    private void streamOnce(String urlWithKey, GeminiFunctionCallRequest request, Consumer<String> chunkConsumer) {
+        guard.callOnce(() -> restTemplate.execute(urlWithKey, HttpMethod.POST,
+                httpRequest -> {
+                    httpRequest.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    objectMapper.writeValue(httpRequest.getBody(), request);
+                },
+                httpResponse -> {
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(httpResponse.getBody(), StandardCharsets.UTF_8))) {
+                        boolean textRouted = false;
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (!line.startsWith("data:")) {
+                                continue;
+                            }
+                            String json = line.substring(5).trim();
+                            if (json.isEmpty()) {
+                                continue;
+                            }
+                            GeminiFunctionCallResponse chunk = objectMapper.readValue(json, GeminiFunctionCallResponse.class);
+
+                            // functionCall 이 오면 도구 실행 결과를 한 번에 전달하고 종료
+                            List<GeminiFunctionCallResponse.FunctionCall> functionCalls = findFunctionCalls(chunk);
+                            if (!functionCalls.isEmpty()) {
+                                functionCallRoutes.increment();
+                                chunkConsumer.accept(executeTools(functionCalls));
+                                break;
+                            }
+
+                            String text = extractText(chunk);
+                            if (StringUtils.hasLength(text)) {
+                                if (!textRouted) {
+                                    textRoutes.increment();
+                                    textRouted = true;
+                                }
+                                chunkConsumer.accept(text);
+                            }
                         }
                     }
+                    return null;
+                }));
+    }
+
+    @Override
+    public boolean isCacheable(String answer) {
+        return LLMService.super.isCacheable(answer)
+                && !GENERAL_ERROR_MESSAGE.equals(answer)
+                && !UNKNOWN_TOOL_MESSAGE.equals(answer)
+                && !EMPTY_RESPONSE_MESSAGE.equals(answer)
+                && !containsToolFailure(answer);
+    }
+
+    // 질문당 평균 Gemini 호출 수 (도구 라우팅 이후 1, 중복 제거 사용 시 1 이하)
+    public double getAverageUpstreamCallsPerQuestion() {
+        long questionCount = questions.sum();
+        return questionCount == 0 ? 0.0 : (double) upstreamCalls.sum() / questionCount;
+    }
+
+    public long getFunctionCallRouteCount() {
+        return functionCallRoutes.sum();
+    }
+
+    public long getTextRouteCount() {
+        return textRoutes.sum();
+    }
+
+    public RequestCoalescer.Stats dedupStats() {
+        return coalescer != null ? coalescer.stats() : null;
+    }
+
+    private String dispatch(GeminiFunctionCallResponse response) {
+        List<GeminiFunctionCallResponse.FunctionCall> functionCalls = route(response);
+        if (!functionCalls.isEmpty()) {
+            functionCallRoutes.increment();
+            return executeTools(functionCalls);
+        }
+
+        textRoutes.increment();
+        return textOrFallback(response);
+    }
+
+    private CompletableFuture<String> dispatchAsync(GeminiFunctionCallResponse response) {
+        List<GeminiFunctionCallResponse.FunctionCall> functionCalls = route(response);
+        if (!functionCalls.isEmpty()) {
+            functionCallRoutes.increment();
+            return executeToolsAsync(functionCalls);
+        }
+
+        textRoutes.increment();
+        return CompletableFuture.completedFuture(textOrFallback(response));
+    }
+
+    private String textOrFallback(GeminiFunctionCallResponse response) {
+        String generatedText = extractText(response);
+        if (generatedText == null) {
+            log.warn("Gemini API 응답이 비어있음");
+            return EMPTY_RESPONSE_MESSAGE;
+        }
+        log.debug("Gemini API 응답 성공: {}", generatedText);
+        return generatedText;
+    }
+
+    // 도구 호출(날씨 등)인지 일반 답변인지 판단
+    private List<GeminiFunctionCallResponse.FunctionCall> route(GeminiFunctionCallResponse response) {
+        try (Span ignored = tracer.startSpan("llm.route")) {
+            return findFunctionCalls(response);
+        }
+    }
+
+    private List<GeminiFunctionCallResponse.FunctionCall> findFunctionCalls(GeminiFunctionCallResponse response) {
+        GeminiFunctionCallResponse.Content content = firstContent(response);
+        if (content == null) {
+            return Collections.emptyList();
+        }
+        List<GeminiFunctionCallResponse.FunctionCall> functionCalls = new ArrayList<>(1);
+        for (GeminiFunctionCallResponse.Part part : content.getParts()) {
+            if (part.getFunctionCall() != null) {
+                functionCalls.add(part.getFunctionCall());
+            }
+        }
+        return functionCalls;
+    }
+
+    private String extractText(GeminiFunctionCallResponse response) {
+        GeminiFunctionCallResponse.Content content = firstContent(response);
+        if (content == null) {
+            return null;
+        }
+        StringBuilder text = null;
+        for (GeminiFunctionCallResponse.Part part : content.getParts()) {
+            if (part.getText() != null) {
+                if (text == null) {
+                    text = new StringBuilder();
                 }
+                text.append(part.getText());
             }
+        }
+        return text != null ? text.toString() : null;
+    }
 
-            // Function Call이 없으면 일반 응답
-            return handleGeneralQuestion(userQuestion);
+    private GeminiFunctionCallResponse.Content firstContent(GeminiFunctionCallResponse response) {
+        if (response == null || response.getCandidates() == null || response.getCandidates().isEmpty()) {
+            return null;
+        }
+        GeminiFunctionCallResponse.Content content = response.getCandidates().get(0).getContent();
+        if (content == null || content.getParts() == null) {
+            return null;
+        }
+        return content;
+    }
 
-        } catch (Exception e) {
-            log.error("날씨 질문 처리 중 오류 발생", e);
-            return "날씨 정보를 가져오는 중 오류가 발생했습니다. 잠시 후 다시 시도해주세요.";
-        }
-    }
-
-    private GeminiFunctionCallRequest createFunctionCallRequest(String userQuestion) {
-        // Function Declaration 생성
-        GeminiFunctionCallRequest.FunctionDeclaration functionDeclaration = 
-            new GeminiFunctionCallRequest.FunctionDeclaration(
-                "get_current_weather",
-                "특정 도시의 현재 날씨 정보를 가져옵니다.",
-                new GeminiFunctionCallRequest.Schema(
-                    "object",
-                    new GeminiFunctionCallRequest.Properties(
-                        new GeminiFunctionCallRequest.Property("string", "도시 이름 (예: 서울, 부산)"),
-                        new GeminiFunctionCallRequest.Property("string", "국가 코드 (예: KR, US)")
-                    ),
-                    Arrays.asList("city", "countryCode")
-                )
-            );
-
-        // Tool 생성
-        GeminiFunctionCallRequest.Tool tool = 
-            new GeminiFunctionCallRequest.Tool(Collections.singletonList(functionDeclaration));
-
-        // Content 생성
-        GeminiFunctionCallRequest.Content content = 
-            new GeminiFunctionCallRequest.Content(
-                Collections.singletonList(new GeminiFunctionCallRequest.Part(userQuestion))
-            );
-
-        // Request 생성
-        return new GeminiFunctionCallRequest(
-            Collections.singletonList(content),
-            Collections.singletonList(tool)
+    private GeminiFunctionCallRequest createFunctionCallRequest(String userQuestion, List<ConversationTurn> history) {
+        // Content 생성 (세션의 이전 대화 + 현재 질문)
+        List<GeminiFunctionCallRequest.Content> contents = new ArrayList<>(history.size() + 1);
+        for (ConversationTurn turn : history) {
+            contents.add(content(turn.getRole(), turn.getText()));
+        }
+        contents.add(content(ConversationTurn.USER, userQuestion));
+
+        // Request 생성 (도구 선언은 ToolRegistry 가 기동 시 직렬화해 둔 JSON 을 그대로 사용)
+        return new GeminiFunctionCallRequest(contents, toolRegistry.getToolsJson());
+    }
+
+    private static GeminiFunctionCallRequest.Content content(String role, String text) {
+        return new GeminiFunctionCallRequest.Content(
+            role,
+            Collections.singletonList(new GeminiFunctionCallRequest.Part(text))
         );
     }
 
     private GeminiFunctionCallResponse callFunctionCallAPI(GeminiFunctionCallRequest request) {
+        // 중복 제거를 쓰면 비동기 경로로 보내고 결과만 기다림
+        if (coalescer != null) {
+            try {
+                return postAsync(request, GeminiFunctionCallResponse.class).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        upstreamCalls.increment();
+
         // 1. 요청 헤더 설정
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -135,68 +387,154 @@ public class GeminiLLMService implements LLMService {
         // 3. API URL에 API 키 추가
         String urlWithKey = apiUrl + "?key=" + apiKey;
 
-        // 4. Gemini Function Calling API 호출
-        return restTemplate.postForObject(urlWithKey, entity, GeminiFunctionCallResponse.class);
+        // 4. Gemini Function Calling API 호출 (서킷 브레이커 / 벌크헤드 / 재시도 적용)
+        long start = System.nanoTime();
+        Span span = tracer.startSpan("gemini.function_call");
+        boolean succeeded = false;
+        try {
+            GeminiFunctionCallResponse response =
+                    guard.call(() -> restTemplate.postForObject(urlWithKey, entity, GeminiFunctionCallResponse.class));
+            succeeded = true;
+            return response;
+        } finally {
+            metrics.geminiFunctionCall().record(start, succeeded);
+            span.end(succeeded);
+        }
     }
 
-    private String executeWeatherFunction(GeminiFunctionCallResponse.FunctionCall functionCall) {
+    private <T> CompletableFuture<T> postAsync(Object body, Class<T> responseType) {
+        String json;
         try {
-            String city = functionCall.getArgs().getCity();
-            String countryCode = functionCall.getArgs().getCountryCode();
-
-            log.debug("날씨 함수 실행: city={}, countryCode={}", city, countryCode);
+            json = objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-            // OpenWeather API 호출
-            OpenWeatherResponse weather = openWeatherService.getCurrentWeather(city, countryCode);
+        // 같은 요청 바디가 이미 전송 중이면 그 응답을 함께 사용
+        CompletableFuture<byte[]> call = coalescer != null ? coalescer.submit(json) : sendAsync(json);
+        return call
+                .thenApply(responseBody -> {
+                    try {
+                        return objectMapper.readValue(responseBody, responseType);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
 
-            // 날씨 정보 포맷팅
-            String weatherInfo = openWeatherService.formatWeatherResponse(weather);
+    private CompletableFuture<byte[]> sendAsync(String json) {
+        upstreamCalls.increment();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + "?key=" + apiKey))
+                .timeout(asyncTimeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8))
+                .build();
+
+        // 상태 코드 검사까지 한 번의 시도로 보고 서킷 브레이커 / 재시도 / 헤지 요청 적용
+        long start = System.nanoTime();
+        Span span = tracer.startSpan("gemini.function_call");
+        return guard.callAsync(() -> {
+                    CompletableFuture<HttpResponse<byte[]>> exchange =
+                            asyncHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+                    // 헤지에서 지거나 deadline 이 지나 취소되면 HTTP 교환도 중단
+                    return UpstreamGuard.cancelling(exchange, exchange.thenApply(response -> {
+                        if (response.statusCode() / 100 != 2) {
+                            throw new UpstreamStatusException("Gemini API 응답 오류: HTTP " + response.statusCode(),
+                                    response.statusCode());
+                        }
+                        return response.body();
+                    }));
+                })
+                .whenComplete((body, error) -> {
+                    metrics.geminiFunctionCall().record(start, error == null);
+                    span.end(error == null);
+                });
+    }
 
-            log.debug("날씨 정보 조회 완료: {}", weatherInfo);
-            return weatherInfo;
+    private String executeTools(List<GeminiFunctionCallResponse.FunctionCall> functionCalls) {
+        // 도구가 하나면 호출 스레드에서 바로 실행
+        if (functionCalls.size() == 1) {
+            return executeTool(functionCalls.get(0));
+        }
+        return executeToolsAsync(functionCalls).join();
+    }
 
-        } catch (Exception e) {
-            log.error("날씨 함수 실행 중 오류 발생", e);
-            return "죄송합니다. 해당 도시의 날씨 정보를 가져올 수 없습니다.";
+    private CompletableFuture<String> executeToolsAsync(List<GeminiFunctionCallResponse.FunctionCall> functionCalls) {
+        List<CompletableFuture<String>> results = new ArrayList<>(functionCalls.size());
+        for (GeminiFunctionCallResponse.FunctionCall functionCall : functionCalls) {
+            results.add(executeToolAsync(functionCall));
+        }
+        if (results.size() == 1) {
+            return results.get(0);
         }
+
+        // 모든 도구를 동시에 실행한 뒤 functionCall 순서대로 결과를 합침
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<String> answers = new ArrayList<>(results.size());
+                    for (CompletableFuture<String> result : results) {
+                        answers.add(result.join());
+                    }
+                    return String.join(TOOL_RESULT_DELIMITER, answers);
+                });
     }
 
-    private String handleGeneralQuestion(String userQuestion) {
-        // 1. 요청 헤더 설정
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    private String executeTool(GeminiFunctionCallResponse.FunctionCall functionCall) {
+        LLMTool tool = toolRegistry.get(functionCall.getName());
+        if (tool == null) {
+            log.warn("등록되지 않은 도구 호출: {}", functionCall.getName());
+            return UNKNOWN_TOOL_MESSAGE;
+        }
 
-        // 2. 요청 바디 생성
-        GeminiRequest request = createRequest(userQuestion);
+        Span span = tracer.startSpan("tool." + tool.getName());
+        try {
+            String result = tool.execute(functionCall.getArgs());
+            log.debug("도구 실행 완료: name={}, result={}", tool.getName(), result);
+            span.end(true);
+            return result;
 
-        // 3. HTTP 엔티티 생성
-        HttpEntity<GeminiRequest> entity = new HttpEntity<>(request, headers);
+        } catch (Exception e) {
+            log.error("도구 실행 중 오류 발생: {}", tool.getName(), e);
+            span.end(false);
+            return tool.getFailureMessage();
+        }
+    }
 
-        // 4. API URL에 API 키 추가
-        String urlWithKey = apiUrl + "?key=" + apiKey;
+    private CompletableFuture<String> executeToolAsync(GeminiFunctionCallResponse.FunctionCall functionCall) {
+        LLMTool tool = toolRegistry.get(functionCall.getName());
+        if (tool == null) {
+            log.warn("등록되지 않은 도구 호출: {}", functionCall.getName());
+            return CompletableFuture.completedFuture(UNKNOWN_TOOL_MESSAGE);
+        }
 
-        // 5. Gemini API 호출
-        GeminiResponse response = restTemplate.postForObject(urlWithKey, entity, GeminiResponse.class);
+        Span span = tracer.startSpan("tool." + tool.getName());
+        CompletableFuture<String> result;
+        try {
+            result = tool.executeAsync(functionCall.getArgs(), toolExecutor);
+        } catch (Exception e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((answer, error) -> span.end(error == null)).exceptionally(e -> {
+            log.error("도구 실행 중 오류 발생: {}", tool.getName(), e);
+            return tool.getFailureMessage();
+        });
+    }
 
-        // 6. 응답 처리
-        if (response != null && response.getCandidates() != null && !response.getCandidates().isEmpty()) {
-            String generatedText = response.getCandidates().get(0).getContent().getParts().get(0).getText();
-            log.debug("Gemini API 응답 성공: {}", generatedText);
-            return generatedText;
-        } else {
-            log.warn("Gemini API 응답이 비어있음");
-            return "죄송합니다. 응답을 생성할 수 없습니다.";
+    // 도구 실패 문구가 섞인 응답은 캐시하지 않음
+    private boolean containsToolFailure(String answer) {
+        for (LLMTool tool : toolRegistry.getTools()) {
+            if (answer.contains(tool.getFailureMessage())) {
+                return true;
+            }
         }
+        return false;
     }
 
-    private GeminiRequest createRequest(String userQuestion) {
-        // 사용자 질문을 Part로 생성
-        GeminiRequest.Part part = new GeminiRequest.Part(userQuestion);
-        
-        // Content 생성
-        GeminiRequest.Content content = new GeminiRequest.Content(Collections.singletonList(part));
-        
-        // Request 생성
-        return new GeminiRequest(Collections.singletonList(content));
+    private String resolveStreamApiUrl() {
+        if (StringUtils.hasText(streamApiUrl)) {
+            return streamApiUrl;
+        }
+        return apiUrl.replace(":generateContent", ":streamGenerateContent");
     }
-} 
\ No newline at end of file
+}
@@ -1,26 +1,72 @@
 package com.example.demospringboot.services;
 
 import com.example.demospringboot.dto.KakaoUserInfo;
-import org.springframework.core.ParameterizedTypeReference;
+import com.example.demospringboot.dto.kakao.KakaoUserResponse;
+import com.example.demospringboot.metrics.AppMetrics;
+import com.example.demospringboot.utils.Digests;
+import com.example.demospringboot.utils.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Map;
+import java.time.Duration;
 
 @Service
+@Slf4j
 public class KakaoService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final AppMetrics metrics;
+    private final String userInfoUrl;
+
+    // 같은 카카오 토큰으로 반복 로그인할 때 사용자 정보 재조회를 생략 (0 이면 캐시하지 않음)
+    private final long cacheTtlSeconds;
+
+    // 키는 액세스 토큰 원문이 아닌 SHA-256 해시
+    private final ExpiringCache<String, KakaoUserInfo> cache;
+
+    public KakaoService(@Qualifier("kakaoRestTemplate") RestTemplate restTemplate,
+                        AppMetrics metrics,
+                        @Value("${kakao.api.user-info-url:https://kapi.kakao.com/v2/user/me}") String userInfoUrl,
+                        @Value("${kakao.cache.ttl-seconds:60}") long cacheTtlSeconds,
+                        @Value("${kakao.cache.max-size:10000}") int cacheMaxSize) {
+        this.restTemplate = restTemplate;
+        this.metrics = metrics;
+        this.userInfoUrl = userInfoUrl;
+        this.cacheTtlSeconds = cacheTtlSeconds;
+        this.cache = new ExpiringCache<>(cacheMaxSize);
+    }
 
     public KakaoUserInfo getUserInfo(String accessToken) {
         // 개발/테스트용 Mock 데이터 (실제 카카오 토큰이 없을 때)
         if ("test-token".equals(accessToken)) {
             return new KakaoUserInfo(123456789L, "test@example.com", "테스트사용자", "https://test-profile.jpg");
         }
-        
-        String kakaoUserInfoUrl = "https://kapi.kakao.com/v2/user/me";
 
+        String key = cacheTtlSeconds > 0 ? Digests.sha256(accessToken) : null;
+        if (key != null) {
+            KakaoUserInfo cached = cache.get(key);
+            if (cached != null) {
+                log.debug("카카오 사용자 정보 캐시 적중: kakaoId={}", cached.getKakaoId());
+                return cached;
+            }
+        }
+
+        KakaoUserInfo userInfo = fetchUserInfo(accessToken);
+        if (key != null) {
+            cache.put(key, userInfo, Duration.ofSeconds(cacheTtlSeconds));
+        }
+        return userInfo;
+    }
+
+    public ExpiringCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    private KakaoUserInfo fetchUserInfo(String accessToken) {
         // 1. 요청 헤더 설정
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);  // Authorization: Bearer {accessToken}
@@ -28,30 +74,35 @@ public class KakaoService {
 
         HttpEntity<Void> request = new HttpEntity<>(headers);
 
-        // 2. 카카오 API 호출 (제네릭 명확히 지정)
-        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                kakaoUserInfoUrl,
-                HttpMethod.GET,
-                request,
-                new ParameterizedTypeReference<>() {}
-        );
+        // 2. 카카오 API 호출 (응답 스트림을 바로 DTO 로 바인딩)
+        long start = System.nanoTime();
+        ResponseEntity<KakaoUserResponse> response = null;
+        try {
+            response = restTemplate.exchange(
+                    userInfoUrl,
+                    HttpMethod.GET,
+                    request,
+                    KakaoUserResponse.class
+            );
+        } finally {
+            metrics.kakao().record(start, response != null && response.getStatusCode().is2xxSuccessful());
+        }
 
-        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+        KakaoUserResponse body = response.getBody();
+        if (!response.getStatusCode().is2xxSuccessful() || body == null || body.getId() == null) {
             throw new RuntimeException("카카오 사용자 정보 조회 실패");
         }
 
-        // 3. 응답 파싱
-        Map<String, Object> body = response.getBody();
-        Long id = ((Number) body.get("id")).longValue();
-
-        Map<String, Object> kakaoAccount = (Map<String, Object>) body.get("kakao_account");
-        String email = (String) kakaoAccount.get("email");
-
-        Map<String, Object> profile = (Map<String, Object>) kakaoAccount.get("profile");
-        String nickname = (String) profile.get("nickname");
-        String profileImage = (String) profile.get("profile_image_url");
+        // 3. 응답 변환 (동의하지 않은 항목은 null)
+        KakaoUserResponse.KakaoAccount account = body.getKakaoAccount();
+        KakaoUserResponse.Profile profile = account != null ? account.getProfile() : null;
 
         // 4. 사용자 정보 반환
-        return new KakaoUserInfo(id, email, nickname, profileImage);
+        return new KakaoUserInfo(
+                body.getId(),
+                account != null ? account.getEmail() : null,
+                profile != null ? profile.getNickname() : null,
+                profile != null ? profile.getProfileImageUrl() : null
+        );
     }
 }
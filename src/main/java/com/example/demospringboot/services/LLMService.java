@@ -1,5 +1,39 @@
 package com.example.demospringboot.services;
 
+import com.example.demospringboot.services.conversation.ConversationTurn;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 public interface LLMService {
     String generateResponse(String userQuestion);
-} 
\ No newline at end of file
+
+    // 이전 대화를 함께 전달. 대화 이력을 지원하지 않는 구현체는 현재 질문만 처리
+    default String generateResponse(String userQuestion, List<ConversationTurn> history) {
+        return generateResponse(userQuestion);
+    }
+
+    // 비동기 응답 생성. 비동기 클라이언트가 없는 구현체는 호출 스레드에서 동기로 처리
+    default CompletableFuture<String> generateResponseAsync(String userQuestion) {
+        return CompletableFuture.completedFuture(generateResponse(userQuestion));
+    }
+
+    default CompletableFuture<String> generateResponseAsync(String userQuestion, List<ConversationTurn> history) {
+        return CompletableFuture.completedFuture(generateResponse(userQuestion, history));
+    }
+
+    // 생성되는 응답을 조각 단위로 전달. 스트리밍을 지원하지 않는 구현체는 전체 응답을 한 번에 전달
+    default void streamResponse(String userQuestion, Consumer<String> chunkConsumer) {
+        chunkConsumer.accept(generateResponse(userQuestion));
+    }
+
+    default void streamResponse(String userQuestion, List<ConversationTurn> history, Consumer<String> chunkConsumer) {
+        chunkConsumer.accept(generateResponse(userQuestion, history));
+    }
+
+    // 오류 안내 문구처럼 다시 사용하면 안 되는 응답은 캐시하지 않도록 구현체가 판단
+    default boolean isCacheable(String answer) {
+        return answer != null && !answer.isBlank();
+    }
+}
@@ -1,35 +1,209 @@
 package com.example.demospringboot.services;
 
+import com.example.demospringboot.config.AsyncHttpClient;
+import com.example.demospringboot.config.HttpClientPools;
+import com.example.demospringboot.config.OpenWeatherProperties;
 import com.example.demospringboot.dto.openweather.OpenWeatherResponse;
-import lombok.RequiredArgsConstructor;
+import com.example.demospringboot.metrics.AppMetrics;
+import com.example.demospringboot.resilience.UpstreamGuard;
+import com.example.demospringboot.resilience.UpstreamGuards;
+import com.example.demospringboot.resilience.UpstreamStatusException;
+import com.example.demospringboot.tracing.Span;
+import com.example.demospringboot.tracing.Tracer;
+import com.example.demospringboot.utils.ExpiringCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class OpenWeatherService {
 
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final AppMetrics metrics;
+    private final Tracer tracer;
+
+    private final String apiKey;
+    private final String apiUrl;
+    private final long cacheTtlSeconds;
 
-    @Value("${openweather.api.key}")
-    private String apiKey;
+    private final ExpiringCache<String, OpenWeatherResponse> cache;
+    private final AsyncHttpClient asyncHttpClient;
+    private final Duration asyncTimeout;
+    private final UpstreamGuard guard;
+    private final WeatherFormatter formatter;
 
-    @Value("${openweather.api.url:https://api.openweathermap.org/data/2.5/weather}")
-    private String apiUrl;
+    // 같은 도시에 대해 진행 중인 API 호출 (동시 캐시 미스를 한 번의 호출로 합침)
+    private final ConcurrentHashMap<String, CompletableFuture<OpenWeatherResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+
+    public OpenWeatherService(@Qualifier("openWeatherRestTemplate") RestTemplate restTemplate,
+                              ObjectMapper objectMapper,
+                              HttpClientPools httpClientPools,
+                              UpstreamGuards upstreamGuards,
+                              AppMetrics metrics,
+                              Tracer tracer,
+                              OpenWeatherProperties properties) {
+        if (!StringUtils.hasText(properties.getApi().getKey())) {
+            throw new IllegalStateException("openweather.api.key 가 설정되지 않았습니다.");
+        }
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.tracer = tracer;
+        this.apiKey = properties.getApi().getKey();
+        this.apiUrl = properties.getApi().getUrl();
+        this.cacheTtlSeconds = properties.getCache().getTtlSeconds();
+        this.cache = new ExpiringCache<>(properties.getCache().getMaxSize());
+        this.asyncHttpClient = httpClientPools.asyncClient(HttpClientPools.OPENWEATHER);
+        this.asyncTimeout = httpClientPools.readTimeout(HttpClientPools.OPENWEATHER);
+        this.guard = upstreamGuards.guard(HttpClientPools.OPENWEATHER);
+        this.formatter = WeatherFormatter.forLanguage(properties.getFormat().getLanguage());
+    }
 
     public OpenWeatherResponse getCurrentWeather(String city, String countryCode) {
+        String key = cacheKey(city, countryCode);
+
+        // 1. 캐시 조회
+        OpenWeatherResponse cached = cache.get(key);
+        if (cached != null) {
+            log.debug("날씨 캐시 적중: {}", key);
+            return cached;
+        }
+
+        // 2. 이미 같은 도시를 조회 중이면 그 결과를 기다림
+        CompletableFuture<OpenWeatherResponse> call = new CompletableFuture<>();
+        CompletableFuture<OpenWeatherResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedCalls.increment();
+            return await(existing);
+        }
+
+        // 3. 직접 API 호출 후 캐시에 저장하고 대기 중인 요청에 결과 전달
+        try {
+            // 캐시 조회와 putIfAbsent 사이에 앞선 호출이 캐시에 쓰고 끝났을 수 있으므로 다시 확인
+            OpenWeatherResponse recent = cache.peek(key);
+            if (recent != null) {
+                call.complete(recent);
+                return recent;
+            }
+
+            OpenWeatherResponse response = fetchCurrentWeather(city, countryCode);
+            cacheResponse(key, response);
+            call.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * 비동기 조회. 캐시와 진행 중인 호출 공유는 동기 조회와 같고,
+     * API 응답을 기다리는 동안 호출 스레드를 점유하지 않는다.
+     */
+    public CompletableFuture<OpenWeatherResponse> getCurrentWeatherAsync(String city, String countryCode) {
+        String key = cacheKey(city, countryCode);
+
+        // 1. 캐시 조회
+        OpenWeatherResponse cached = cache.get(key);
+        if (cached != null) {
+            log.debug("날씨 캐시 적중: {}", key);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        // 2. 이미 같은 도시를 조회 중이면 그 결과를 공유
+        CompletableFuture<OpenWeatherResponse> call = new CompletableFuture<>();
+        CompletableFuture<OpenWeatherResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedCalls.increment();
+            return existing.copy();
+        }
+
+        // 캐시 조회와 putIfAbsent 사이에 앞선 호출이 캐시에 쓰고 끝났을 수 있으므로 다시 확인
+        OpenWeatherResponse recent = cache.peek(key);
+        if (recent != null) {
+            call.complete(recent);
+            inFlight.remove(key, call);
+            return CompletableFuture.completedFuture(recent);
+        }
+
+        // 3. 비동기 API 호출, 완료되면 캐시에 저장하고 대기 중인 요청에 결과 전달
+        CompletableFuture<OpenWeatherResponse> fetch;
+        try {
+            fetch = fetchCurrentWeatherAsync(city, countryCode);
+        } catch (RuntimeException e) {
+            // 요청을 만들다 실패해도 (예: URI 로 만들 수 없는 도시 이름) 자리를 비워 이후 호출이 멈추지 않게 함
+            log.error("OpenWeather API 비동기 호출 중 오류 발생", e);
+            call.completeExceptionally(e);
+            inFlight.remove(key, call);
+            return CompletableFuture.failedFuture(e);
+        }
+        fetch.whenComplete((response, error) -> {
+            if (error == null) {
+                cacheResponse(key, response);
+                call.complete(response);
+            } else {
+                log.error("OpenWeather API 비동기 호출 중 오류 발생", error);
+                call.completeExceptionally(error);
+            }
+            inFlight.remove(key, call);
+        });
+        return call.copy();
+    }
+
+    public ExpiringCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    public long getUpstreamCallCount() {
+        return upstreamCalls.sum();
+    }
+
+    public long getCoalescedCallCount() {
+        return coalescedCalls.sum();
+    }
+
+    private OpenWeatherResponse fetchCurrentWeather(String city, String countryCode) {
         try {
             log.debug("OpenWeather API 호출 시작: city={}, countryCode={}", city, countryCode);
+            upstreamCalls.increment();
             
             // API URL 구성
-            String url = String.format("%s?q=%s,%s&appid=%s&units=metric&lang=kr", 
-                apiUrl, city, countryCode, apiKey);
+            String url = String.format("%s?q=%s,%s&appid=%s&units=metric&lang=%s", 
+                apiUrl, city, countryCode, apiKey, formatter.getApiLanguage());
             
-            // OpenWeather API 호출
-            OpenWeatherResponse response = restTemplate.getForObject(url, OpenWeatherResponse.class);
+            // OpenWeather API 호출 (서킷 브레이커 / 벌크헤드 / 재시도 적용)
+            long start = System.nanoTime();
+            Span span = tracer.startSpan("openweather.current_weather");
+            OpenWeatherResponse response = null;
+            try {
+                response = guard.call(() -> restTemplate.getForObject(url, OpenWeatherResponse.class));
+            } finally {
+                metrics.openWeather().record(start, response != null);
+                span.end(response != null);
+            }
             
             if (response != null) {
                 log.debug("OpenWeather API 응답 성공: {}", response.getName());
@@ -45,29 +219,78 @@ public class OpenWeatherService {
         }
     }
 
+    private CompletableFuture<OpenWeatherResponse> fetchCurrentWeatherAsync(String city, String countryCode) {
+        log.debug("OpenWeather API 비동기 호출 시작: city={}, countryCode={}", city, countryCode);
+        upstreamCalls.increment();
+
+        // API URL 구성
+        URI uri = UriComponentsBuilder.fromUriString(apiUrl)
+                .queryParam("q", city + "," + countryCode)
+                .queryParam("appid", apiKey)
+                .queryParam("units", "metric")
+                .queryParam("lang", formatter.getApiLanguage())
+                .encode()
+                .build()
+                .toUri();
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(asyncTimeout)
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Span span = tracer.startSpan("openweather.current_weather");
+        return guard.callAsync(() -> {
+                    CompletableFuture<HttpResponse<byte[]>> exchange =
+                            asyncHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+                    // 헤지에서 지거나 deadline 이 지나 취소되면 HTTP 교환도 중단
+                    return UpstreamGuard.cancelling(exchange, exchange.thenApply(response -> {
+                        if (response.statusCode() / 100 != 2) {
+                            throw new UpstreamStatusException(
+                                    "날씨 정보 조회 중 오류가 발생했습니다: HTTP " + response.statusCode(),
+                                    response.statusCode());
+                        }
+                        return response.body();
+                    }));
+                })
+                .whenComplete((body, error) -> {
+                    metrics.openWeather().record(start, error == null);
+                    span.end(error == null);
+                })
+                .thenApply(responseBody -> {
+                    try {
+                        return objectMapper.readValue(responseBody, OpenWeatherResponse.class);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
     public String formatWeatherResponse(OpenWeatherResponse weather) {
-        if (weather == null || weather.getMain() == null || weather.getWeather() == null || weather.getWeather().length == 0) {
-            return "날씨 정보를 가져올 수 없습니다.";
+        try (Span ignored = tracer.startSpan("weather.format")) {
+            return formatter.format(weather);
+        }
+    }
+
+    private void cacheResponse(String key, OpenWeatherResponse response) {
+        if (cacheTtlSeconds > 0) {
+            cache.put(key, response, Duration.ofSeconds(cacheTtlSeconds));
         }
+    }
+
+    private static String cacheKey(String city, String countryCode) {
+        return String.valueOf(city).trim().toLowerCase(Locale.ROOT) + ","
+                + String.valueOf(countryCode).trim().toUpperCase(Locale.ROOT);
+    }
 
-        OpenWeatherResponse.Main main = weather.getMain();
-        OpenWeatherResponse.Weather weatherInfo = weather.getWeather()[0];
-
-        return String.format(
-            "📍 %s의 현재 날씨\n" +
-            "🌡️ 기온: %.1f°C (체감온도: %.1f°C)\n" +
-            "🌤️ 날씨: %s\n" +
-            "💧 습도: %d%%\n" +
-            "🌪️ 기압: %d hPa\n" +
-            "📊 최저/최고: %.1f°C / %.1f°C",
-            weather.getName(),
-            main.getTemp(),
-            main.getFeels_like(),
-            weatherInfo.getDescription(),
-            main.getHumidity(),
-            main.getPressure(),
-            main.getTemp_min(),
-            main.getTemp_max()
-        );
+    private static OpenWeatherResponse await(CompletableFuture<OpenWeatherResponse> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
-} 
\ No newline at end of file
+}
@@ -1,58 +1,88 @@
 package com.example.demospringboot.services;
 
-import com.example.demospringboot.entities.RefreshToken;
-import com.example.demospringboot.repositories.RefreshTokenRepository;
+import com.example.demospringboot.services.token.RefreshTokenStore;
+import com.example.demospringboot.services.token.RotationResult;
+import com.example.demospringboot.utils.JwtClaims;
+import com.example.demospringboot.utils.JwtProvider;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 
+/**
+ * 리프레시 토큰 패밀리 관리.
+ * 로그인마다 새 패밀리(세대 0)를 만들고, 재발급할 때마다 저장소에서 세대를 원자적으로 1 올린 토큰을 준다.
+ * 이미 교체된 세대의 토큰이 다시 오면 탈취된 것으로 보고 패밀리 전체를 폐기한다.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RefreshTokenService {
 
-    private final RefreshTokenRepository repository;
-
-    public void save(Long userId, String refreshToken) {
-        // 기존 토큰이 있다면 삭제
-        repository.deleteByUserId(userId);
-        
-        // 새 토큰 저장 (24시간 후 만료)
-        RefreshToken token = RefreshToken.builder()
-                .userId(userId)
-                .token(refreshToken)
-                .expiresAt(LocalDateTime.now().plusDays(1))
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        repository.save(token);
+    public static final String DEFAULT_DEVICE_ID = "default";
+
+    private final RefreshTokenStore store;
+    private final JwtProvider jwtProvider;
+
+    // 로그인: 같은 기기의 기존 패밀리는 교체
+    public String issue(Long userId, String deviceId) {
+        String familyId = UUID.randomUUID().toString();
+        store.save(userId, normalizeDeviceId(deviceId), familyId, nextExpiry());
+        return jwtProvider.createRefreshToken(userId, familyId, 0);
     }
 
-    public boolean isValid(Long userId, String refreshToken) {
-        Optional<RefreshToken> tokenOpt = repository.findByUserId(userId);
-        
-        if (tokenOpt.isEmpty()) {
-            return false;
+    /**
+     * 검증된 리프레시 토큰 클레임으로 다음 세대 토큰을 발급한다.
+     * 리프레시 토큰이 아니거나, 폐기됐거나, 재사용된 토큰이면 빈 Optional 을 반환한다.
+     */
+    public Optional<String> rotate(JwtClaims claims) {
+        if (!claims.isRefreshToken()) {
+            return Optional.empty();
+        }
+        RotationResult result = store.rotate(claims.getUserId(), claims.getFamilyId(),
+                claims.getGeneration(), nextExpiry());
+        switch (result) {
+            case ROTATED:
+                return Optional.of(jwtProvider.createRefreshToken(
+                        claims.getUserId(), claims.getFamilyId(), claims.getGeneration() + 1));
+            case REUSED:
+                log.warn("리프레시 토큰 재사용 감지, 패밀리 폐기: userId={}, familyId={}, generation={}",
+                        claims.getUserId(), claims.getFamilyId(), claims.getGeneration());
+                return Optional.empty();
+            case EXPIRED:
+                log.debug("만료된 리프레시 토큰 패밀리: userId={}, familyId={}", claims.getUserId(), claims.getFamilyId());
+                return Optional.empty();
+            default:
+                return Optional.empty();
         }
-        
-        RefreshToken token = tokenOpt.get();
-        
-        // 토큰 값이 일치하고 만료되지 않았는지 확인
-        return token.getToken().equals(refreshToken) && 
-               token.getExpiresAt().isAfter(LocalDateTime.now());
     }
 
-    public void deleteByUserId(Long userId) {
-        repository.deleteByUserId(userId);
+    // 로그아웃: 토큰을 보낸 기기의 패밀리만 폐기
+    public void deleteFamily(Long userId, String familyId) {
+        store.deleteFamily(userId, familyId);
     }
 
-    public void deleteByToken(String refreshToken) {
-        repository.deleteByToken(refreshToken);
+    // 만료된 패밀리를 주기적으로 일괄 삭제
+    @Scheduled(fixedDelayString = "${refresh-token.reaper.interval-ms:600000}",
+               initialDelayString = "${refresh-token.reaper.interval-ms:600000}")
+    public void deleteExpired() {
+        int deleted = store.deleteExpired();
+        if (deleted > 0) {
+            log.info("만료된 리프레시 토큰 삭제: {}건", deleted);
+        }
     }
 
-    public Optional<RefreshToken> findByToken(String refreshToken) {
-        return repository.findByToken(refreshToken);
+    // 패밀리 만료 시각은 발급한 토큰의 만료 시각과 같게 맞춤
+    private Instant nextExpiry() {
+        return Instant.now().plusMillis(jwtProvider.getRefreshTokenValidityMillis());
     }
-}
 
+    private static String normalizeDeviceId(String deviceId) {
+        return StringUtils.hasText(deviceId) ? deviceId : DEFAULT_DEVICE_ID;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demospringboot.services;
+
+import com.example.demospringboot.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 프로필 변경 write-behind 큐.
+ * 로그인 응답은 DB 쓰기를 기다리지 않고, 백그라운드 스레드 하나가 모아서 반영한다.
+ * 같은 사용자의 변경이 쌓이면 마지막 값만 쓴다.
+ */
+@Component
+@Slf4j
+public class UserProfileWriter {
+
+    private final UserRepository userRepository;
+    private final Map<Long, ProfileUpdate> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-profile-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public UserProfileWriter(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public void submit(Long userId, String nickname, String profileImage) {
+        if (pending.put(userId, new ProfileUpdate(nickname, profileImage, LocalDateTime.now())) != null) {
+            coalesced.increment();
+        }
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    // 종료 시 남은 변경을 호출 스레드에서 반영
+    @PreDestroy
+    void flush() {
+        executor.shutdown();
+        writePending();
+    }
+
+    private void drain() {
+        try {
+            writePending();
+        } finally {
+            draining.set(false);
+        }
+        // 플래그를 내리는 사이에 들어온 변경이 있으면 다시 실행
+        if (!pending.isEmpty() && !executor.isShutdown() && draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void writePending() {
+        Iterator<Map.Entry<Long, ProfileUpdate>> entries = pending.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Long, ProfileUpdate> entry = entries.next();
+            ProfileUpdate update = entry.getValue();
+            // 읽은 뒤 더 새로운 값으로 바뀌었으면 다음 차례에 처리
+            if (!pending.remove(entry.getKey(), update)) {
+                continue;
+            }
+            try {
+                userRepository.updateProfile(entry.getKey(), update.nickname, update.profileImage, update.updatedAt);
+                written.increment();
+            } catch (Exception e) {
+                log.error("프로필 write-behind 반영 실패: userId={}", entry.getKey(), e);
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class ProfileUpdate {
+        private final String nickname;
+        private final String profileImage;
+        private final LocalDateTime updatedAt;
+    }
+}
@@ -3,52 +3,91 @@ package com.example.demospringboot.services;
 import com.example.demospringboot.dto.KakaoUserInfo;
 import com.example.demospringboot.entities.User;
 import com.example.demospringboot.repositories.UserRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class UserService {
 
+    private static final String PROVIDER_KAKAO = "kakao";
+
     private final UserRepository userRepository;
+    private final UserProfileWriter userProfileWriter;
+    private final boolean writeBehind;
+
+    public UserService(UserRepository userRepository,
+                       UserProfileWriter userProfileWriter,
+                       @Value("${user.profile.write-behind:false}") boolean writeBehind) {
+        this.userRepository = userRepository;
+        this.userProfileWriter = userProfileWriter;
+        this.writeBehind = writeBehind;
+        log.info("사용자 프로필 동기화: writeBehind={}", writeBehind);
+    }
 
     public User findOrCreateUser(KakaoUserInfo kakaoUserInfo) {
+        String providerId = kakaoUserInfo.getId().toString();
+
         // 기존 사용자 조회
-        Optional<User> existingUser = userRepository.findByProviderAndProviderId("kakao", kakaoUserInfo.getId().toString());
-        
+        Optional<User> existingUser = userRepository.findByProviderAndProviderId(PROVIDER_KAKAO, providerId);
         if (existingUser.isPresent()) {
-            // 기존 사용자 정보 업데이트
-            User user = existingUser.get();
-            User updatedUser = User.builder()
-                    .id(user.getId())
-                    .email(user.getEmail())
-                    .nickname(kakaoUserInfo.getNickname())
-                    .profileImage(kakaoUserInfo.getProfileImage())
-                    .provider(user.getProvider())
-                    .providerId(user.getProviderId())
-                    .createdAt(user.getCreatedAt())
-                    .updatedAt(LocalDateTime.now())
-                    .build();
-            return userRepository.save(updatedUser);
-        } else {
-            // 새 사용자 생성
-            User newUser = User.builder()
-                    .email(kakaoUserInfo.getEmail())
-                    .nickname(kakaoUserInfo.getNickname())
-                    .profileImage(kakaoUserInfo.getProfileImage())
-                    .provider("kakao")
-                    .providerId(kakaoUserInfo.getId().toString())
-                    .createdAt(LocalDateTime.now())
-                    .updatedAt(LocalDateTime.now())
-                    .build();
-            return userRepository.save(newUser);
+            return syncProfile(existingUser.get(), kakaoUserInfo);
+        }
+
+        // 새 사용자 생성
+        User newUser = User.builder()
+                .email(kakaoUserInfo.getEmail())
+                .nickname(kakaoUserInfo.getNickname())
+                .profileImage(kakaoUserInfo.getProfileImage())
+                .provider(PROVIDER_KAKAO)
+                .providerId(providerId)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        try {
+            return userRepository.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 사용자의 동시 최초 로그인: 먼저 들어간 행을 사용
+            log.debug("동시 가입 충돌, 기존 사용자 재조회: providerId={}", providerId);
+            return userRepository.findByProviderAndProviderId(PROVIDER_KAKAO, providerId)
+                    .orElseThrow(() -> e);
         }
     }
 
     public Optional<User> findById(Long userId) {
         return userRepository.findById(userId);
     }
+
+    // 프로필이 바뀐 경우에만 쓰기 (바뀌지 않았으면 UPDATE 없음)
+    private User syncProfile(User user, KakaoUserInfo kakaoUserInfo) {
+        if (Objects.equals(user.getNickname(), kakaoUserInfo.getNickname())
+                && Objects.equals(user.getProfileImage(), kakaoUserInfo.getProfileImage())) {
+            return user;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (writeBehind) {
+            userProfileWriter.submit(user.getId(), kakaoUserInfo.getNickname(), kakaoUserInfo.getProfileImage());
+        } else {
+            userRepository.updateProfile(user.getId(), kakaoUserInfo.getNickname(), kakaoUserInfo.getProfileImage(), now);
+        }
+
+        // 영속성 컨텍스트의 엔티티를 변경하면 이후 트랜잭션에서 다시 flush 되므로 복사본을 반환
+        return User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .nickname(kakaoUserInfo.getNickname())
+                .profileImage(kakaoUserInfo.getProfileImage())
+                .provider(user.getProvider())
+                .providerId(user.getProviderId())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(now)
+                .build();
+    }
 }
@@ -0,0 +1,184 @@
+package com.example.demospringboot.services;
+
+import com.example.demospringboot.dto.openweather.OpenWeatherResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 날씨 응답 문구 포맷터.
+ * 템플릿의 {name} 자리표시자를 생성 시 한 번만 해석해 두고, 호출마다 스레드별 StringBuilder 에
+ * 문자열 조각과 숫자를 그대로 이어 붙인다 (String.format 의 형식 문자열 파싱, 박싱, Formatter 생성이 없음).
+ * 실수는 String.format("%.1f") 과 같은 결과가 나오도록 직접 반올림한다.
+ */
+public final class WeatherFormatter {
+
+    public static final String KOREAN_TEMPLATE =
+            "📍 {city}의 현재 날씨\n" +
+            "🌡️ 기온: {temp}°C (체감온도: {feelsLike}°C)\n" +
+            "🌤️ 날씨: {description}\n" +
+            "💧 습도: {humidity}%\n" +
+            "🌪️ 기압: {pressure} hPa\n" +
+            "📊 최저/최고: {tempMin}°C / {tempMax}°C";
+
+    public static final String ENGLISH_TEMPLATE =
+            "📍 Current weather in {city}\n" +
+            "🌡️ Temperature: {temp}°C (feels like: {feelsLike}°C)\n" +
+            "🌤️ Conditions: {description}\n" +
+            "💧 Humidity: {humidity}%\n" +
+            "🌪️ Pressure: {pressure} hPa\n" +
+            "📊 Min/Max: {tempMin}°C / {tempMax}°C";
+
+    private static final WeatherFormatter KOREAN =
+            new WeatherFormatter(KOREAN_TEMPLATE, "날씨 정보를 가져올 수 없습니다.", "kr");
+    private static final WeatherFormatter ENGLISH =
+            new WeatherFormatter(ENGLISH_TEMPLATE, "Weather information is not available.", "en");
+
+    // 결과 문자열은 수백 자 이내이므로 이보다 커진 버퍼는 스레드에 붙잡아 두지 않음
+    private static final int MAX_RETAINED_CAPACITY = 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final String[] literals;
+    private final Field[] fields;
+    private final String unavailableMessage;
+    private final String apiLanguage;
+
+    /**
+     * template 의 자리표시자: {city}, {temp}, {feelsLike}, {description}, {humidity}, {pressure}, {tempMin}, {tempMax}
+     */
+    public WeatherFormatter(String template, String unavailableMessage, String apiLanguage) {
+        List<String> literalList = new ArrayList<>();
+        List<Field> fieldList = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = template.indexOf('{', position);
+            if (open < 0) {
+                break;
+            }
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("unclosed placeholder at " + open + ": " + template);
+            }
+            literalList.add(template.substring(position, open));
+            fieldList.add(Field.of(template.substring(open + 1, close)));
+            position = close + 1;
+        }
+        literalList.add(template.substring(position));
+
+        // literals[i] 다음에 fields[i] 가 오고, 마지막 literal 로 끝남
+        this.literals = literalList.toArray(new String[0]);
+        this.fields = fieldList.toArray(new Field[0]);
+        this.unavailableMessage = unavailableMessage;
+        this.apiLanguage = apiLanguage;
+    }
+
+    // ko(기본), en
+    public static WeatherFormatter forLanguage(String language) {
+        String normalized = language == null ? "" : language.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "", "ko", "kr" -> KOREAN;
+            case "en" -> ENGLISH;
+            default -> throw new IllegalArgumentException("unsupported weather format language: " + language);
+        };
+    }
+
+    // OpenWeather API lang 파라미터 (날씨 설명 문구의 언어)
+    public String getApiLanguage() {
+        return apiLanguage;
+    }
+
+    public String format(OpenWeatherResponse weather) {
+        if (weather == null || weather.getMain() == null || weather.getWeather() == null || weather.getWeather().length == 0) {
+            return unavailableMessage;
+        }
+
+        OpenWeatherResponse.Main main = weather.getMain();
+        OpenWeatherResponse.Weather weatherInfo = weather.getWeather()[0];
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        for (int i = 0; i < fields.length; i++) {
+            buffer.append(literals[i]);
+            switch (fields[i]) {
+                case CITY -> buffer.append(weather.getName());
+                case TEMP -> appendOneDecimal(buffer, main.getTemp());
+                case FEELS_LIKE -> appendOneDecimal(buffer, main.getFeels_like());
+                case DESCRIPTION -> buffer.append(weatherInfo.getDescription());
+                case HUMIDITY -> buffer.append(main.getHumidity());
+                case PRESSURE -> buffer.append(main.getPressure());
+                case TEMP_MIN -> appendOneDecimal(buffer, main.getTemp_min());
+                case TEMP_MAX -> appendOneDecimal(buffer, main.getTemp_max());
+            }
+        }
+        buffer.append(literals[fields.length]);
+
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    /**
+     * String.format("%.1f", value) 와 같은 문자열을 할당 없이 붙인다.
+     * Formatter 는 double 의 가장 짧은 10진 표현(Double.toString 의 숫자)을 HALF_UP 으로 반올림하므로
+     * 1.45 (실제 값 1.4499...) 는 1.5 가 된다. 그 외에는 실제 값 기준 반올림과 같으므로,
+     * fma 로 10 * value 와 경계값의 차이를 한 번의 반올림으로 계산해 부호를 보고,
+     * 값이 경계값 x.x5 를 나타내는 double 과 같으면 올린다.
+     */
+    static void appendOneDecimal(StringBuilder buffer, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            buffer.append(value > 0 ? "Infinity" : value < 0 ? "-Infinity" : "NaN");
+            return;
+        }
+        double abs = Math.abs(value);
+        if (abs >= 1e13) {
+            // 기온/체감온도에서는 나올 수 없는 범위. long 변환이 넘치지 않도록 느린 경로 사용
+            buffer.append(String.format(Locale.ROOT, "%.1f", value));
+            return;
+        }
+
+        long tenths = (long) Math.floor(abs * 10);
+        // abs * 10 이 반올림돼 정수로 올라간 경우 보정
+        if (Math.fma(abs, 10, -tenths) < 0) {
+            tenths--;
+        }
+        // 나머지가 0.5 이상이거나 가장 짧은 10진 표현이 정확히 경계값이면 올림
+        if (Math.fma(abs, 10, -(tenths + 0.5)) >= 0 || abs == (tenths + 0.5) / 10) {
+            tenths++;
+        }
+
+        // %.1f 는 -0.04 처럼 0 으로 반올림되는 음수도 부호를 남김
+        if (Double.doubleToRawLongBits(value) < 0) {
+            buffer.append('-');
+        }
+        buffer.append(tenths / 10).append('.').append((char) ('0' + tenths % 10));
+    }
+
+    private enum Field {
+        CITY("city"),
+        TEMP("temp"),
+        FEELS_LIKE("feelsLike"),
+        DESCRIPTION("description"),
+        HUMIDITY("humidity"),
+        PRESSURE("pressure"),
+        TEMP_MIN("tempMin"),
+        TEMP_MAX("tempMax");
+
+        private final String placeholder;
+
+        Field(String placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        private static Field of(String placeholder) {
+            for (Field field : values()) {
+                if (field.placeholder.equals(placeholder)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("unknown placeholder: {" + placeholder + "}");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demospringboot.services.conversation;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * 한 세션의 대화 이력.
+ * 질문/응답 쌍 단위로 쌓고, 최대 턴 수나 토큰 예산을 넘으면 오래된 쌍부터 버린다.
+ */
+class ConversationHistory {
+
+    private final ArrayDeque<ConversationTurn> turns = new ArrayDeque<>();
+    private final int maxTurns;
+    private final int tokenBudget;
+    private int tokens;
+
+    ConversationHistory(int maxTurns, int tokenBudget) {
+        this.maxTurns = maxTurns;
+        this.tokenBudget = tokenBudget;
+    }
+
+    synchronized List<ConversationTurn> snapshot() {
+        return List.copyOf(turns);
+    }
+
+    synchronized void append(String question, String answer) {
+        add(new ConversationTurn(ConversationTurn.USER, question));
+        add(new ConversationTurn(ConversationTurn.MODEL, answer));
+
+        // 한 턴 = 질문 + 응답
+        while (!turns.isEmpty() && (turns.size() > maxTurns * 2 || tokens > tokenBudget)) {
+            removeOldest();
+            removeOldest();
+        }
+    }
+
+    synchronized int size() {
+        return turns.size();
+    }
+
+    synchronized int tokens() {
+        return tokens;
+    }
+
+    private void add(ConversationTurn turn) {
+        turns.addLast(turn);
+        tokens += turn.estimatedTokens();
+    }
+
+    private void removeOldest() {
+        ConversationTurn removed = turns.pollFirst();
+        if (removed != null) {
+            tokens -= removed.estimatedTokens();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demospringboot.services.conversation;
+
+import com.example.demospringboot.utils.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 사용자 + 세션 ID 별 챗봇 대화 이력 저장소.
+ * 마지막 사용 후 idle-ttl 동안 쓰이지 않은 세션은 만료되고,
+ * 세션마다 최근 max-turns 턴 / token-budget 토큰 이내의 이력만 유지한다.
+ */
+@Component
+@Slf4j
+public class ConversationStore {
+
+    private final Duration idleTtl;
+    private final int maxTurns;
+    private final int tokenBudget;
+    private final ExpiringCache<String, ConversationHistory> sessions;
+
+    public ConversationStore(@Value("${chatbot.conversation.idle-ttl-seconds:1800}") long idleTtlSeconds,
+                             @Value("${chatbot.conversation.max-sessions:10000}") int maxSessions,
+                             @Value("${chatbot.conversation.max-turns:10}") int maxTurns,
+                             @Value("${chatbot.conversation.token-budget:2000}") int tokenBudget) {
+        this.idleTtl = Duration.ofSeconds(idleTtlSeconds);
+        this.maxTurns = maxTurns;
+        this.tokenBudget = tokenBudget;
+        this.sessions = new ExpiringCache<>(maxSessions);
+        log.info("챗봇 대화 세션: idleTtl={}, maxSessions={}, maxTurns={}, tokenBudget={}",
+                idleTtl, maxSessions, maxTurns, tokenBudget);
+    }
+
+    // Gemini 에 함께 보낼 이전 대화 (세션이 없으면 빈 목록)
+    public List<ConversationTurn> history(String owner, String sessionId) {
+        ConversationHistory history = sessions.get(key(owner, sessionId));
+        return history != null ? history.snapshot() : Collections.emptyList();
+    }
+
+    public void record(String owner, String sessionId, String question, String answer) {
+        String key = key(owner, sessionId);
+        // 같은 세션에 동시에 들어온 턴이 각자 이력을 만들어 하나를 잃지 않도록 원자적으로 가져오거나 생성
+        ConversationHistory history =
+                sessions.computeIfAbsent(key, k -> new ConversationHistory(maxTurns, tokenBudget), idleTtl);
+        history.append(question, answer);
+
+        // 사용할 때마다 만료 시각을 연장
+        sessions.refresh(key, idleTtl);
+    }
+
+    public void clear(String owner, String sessionId) {
+        sessions.invalidate(key(owner, sessionId));
+    }
+
+    public ExpiringCache.Stats stats() {
+        return sessions.stats();
+    }
+
+    private static String key(String owner, String sessionId) {
+        return owner + ":" + sessionId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demospringboot.services.conversation;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 대화 이력의 한 발화. role 은 Gemini contents 의 role 값(user / model)을 그대로 사용한다.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ConversationTurn {
+
+    public static final String USER = "user";
+    public static final String MODEL = "model";
+
+    private final String role;
+    private final String text;
+
+    /**
+     * 토큰 수 근사치. 영문/숫자 등 ASCII 는 문자 4개당 1토큰,
+     * 한글 등 그 외 문자는 한 글자(코드 포인트)가 1토큰 이상이므로 글자당 1토큰으로 센다.
+     */
+    public int estimatedTokens() {
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (codePoint < 0x80) {
+                ascii++;
+            } else {
+                other++;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return (ascii + 3) / 4 + other;
+    }
+}
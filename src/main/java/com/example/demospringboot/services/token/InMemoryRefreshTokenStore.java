@@ -0,0 +1,163 @@
+package com.example.demospringboot.services.token;
+
+import com.example.demospringboot.utils.TimerWheel;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 단일 노드 / 테스트용 메모리 저장소. 재시작하면 토큰이 사라지므로 모든 사용자가 다시 로그인해야 한다.
+ * 사용자별 기기 맵에 패밀리를 두고, 세대 증가는 불변 Family 객체를 replace 로 CAS 교체한다.
+ * 만료 정리는 타이머 휠이 지나간 슬롯만 훑어서 처리한다. 휠에는 패밀리당 항목 하나만 두고,
+ * 재발급으로 만료 시각이 늘어난 패밀리는 그 항목이 꺼내질 때 새 만료 시각으로 다시 등록한다.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "memory")
+@Slf4j
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    // 1분 단위 슬롯 2048개 = 약 34시간 (리프레시 토큰 유효기간 1일을 한 바퀴 안에 담음)
+    private static final Duration TICK = Duration.ofMinutes(1);
+    private static final int SLOTS = 2048;
+
+    private final Map<Long, Map<String, Family>> familiesByUser = new ConcurrentHashMap<>();
+    private final TimerWheel<Expiration> expirations = new TimerWheel<>(TICK, SLOTS);
+
+    public InMemoryRefreshTokenStore() {
+        log.info("리프레시 토큰 저장소: memory");
+    }
+
+    @Override
+    public void save(Long userId, String deviceId, String familyId, Instant expiresAt) {
+        Family family = new Family(familyId, 0, expiresAt.toEpochMilli());
+        // compute 안에서 갱신해 만료 정리와 경합하지 않도록 함
+        familiesByUser.compute(userId, (key, devices) -> {
+            Map<String, Family> target = devices != null ? devices : new ConcurrentHashMap<>(2);
+            target.put(deviceId, family);
+            return target;
+        });
+        schedule(userId, deviceId, family);
+    }
+
+    @Override
+    public RotationResult rotate(Long userId, String familyId, long generation, Instant expiresAt) {
+        Map<String, Family> devices = familiesByUser.get(userId);
+        if (devices == null) {
+            return RotationResult.NOT_FOUND;
+        }
+        // 사용자당 기기 수는 몇 개 안 되므로 패밀리 ID 로 훑어서 찾음
+        for (Map.Entry<String, Family> device : devices.entrySet()) {
+            if (device.getValue().familyId.equals(familyId)) {
+                return rotate(userId, devices, device.getKey(), familyId, generation, expiresAt);
+            }
+        }
+        return RotationResult.NOT_FOUND;
+    }
+
+    private RotationResult rotate(Long userId, Map<String, Family> devices, String deviceId,
+                                  String familyId, long generation, Instant expiresAt) {
+        while (true) {
+            Family current = devices.get(deviceId);
+            // 그 사이 로그아웃되거나 재로그인으로 다른 패밀리가 들어옴
+            if (current == null || !current.familyId.equals(familyId)) {
+                return RotationResult.NOT_FOUND;
+            }
+            if (current.expiresAtMillis <= System.currentTimeMillis()) {
+                remove(userId, deviceId, familyId);
+                return RotationResult.EXPIRED;
+            }
+            if (current.generation != generation) {
+                remove(userId, deviceId, familyId);
+                return RotationResult.REUSED;
+            }
+            // 같은 세대로 동시에 들어온 요청 중 하나만 성공, 나머지는 다시 읽어 세대가 올라간 것을 보고 재사용으로 처리
+            Family next = new Family(familyId, generation + 1, expiresAt.toEpochMilli());
+            if (devices.replace(deviceId, current, next)) {
+                return RotationResult.ROTATED;
+            }
+        }
+    }
+
+    @Override
+    public void deleteByUserId(Long userId) {
+        familiesByUser.remove(userId);
+    }
+
+    @Override
+    public void deleteFamily(Long userId, String familyId) {
+        familiesByUser.computeIfPresent(userId, (key, devices) -> {
+            devices.values().removeIf(family -> family.familyId.equals(familyId));
+            return devices.isEmpty() ? null : devices;
+        });
+    }
+
+    @Override
+    public int deleteExpired() {
+        return expirations.advance(System.currentTimeMillis(), this::expire);
+    }
+
+    public int size() {
+        return familiesByUser.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private void schedule(Long userId, String deviceId, Family family) {
+        expirations.schedule(new Expiration(userId, deviceId, family.familyId), family.expiresAtMillis);
+    }
+
+    // 같은 기기에 다른 패밀리가 새로 저장됐으면 건드리지 않음
+    private void remove(Long userId, String deviceId, String familyId) {
+        familiesByUser.computeIfPresent(userId, (key, devices) -> {
+            devices.computeIfPresent(deviceId, (id, family) -> family.familyId.equals(familyId) ? null : family);
+            return devices.isEmpty() ? null : devices;
+        });
+    }
+
+    /**
+     * 실제로 지웠으면 true.
+     * 재로그인으로 다른 패밀리가 들어왔거나 이미 지워졌으면 그대로 두고,
+     * 재발급으로 만료 시각이 늘어났으면 새 만료 시각으로 다시 등록한다.
+     */
+    private boolean expire(Expiration expiration) {
+        long now = System.currentTimeMillis();
+        boolean[] removed = new boolean[1];
+        Family[] extended = new Family[1];
+        familiesByUser.computeIfPresent(expiration.userId, (key, devices) -> {
+            devices.computeIfPresent(expiration.deviceId, (id, family) -> {
+                if (!family.familyId.equals(expiration.familyId)) {
+                    return family;
+                }
+                if (family.expiresAtMillis > now) {
+                    extended[0] = family;
+                    return family;
+                }
+                removed[0] = true;
+                return null;
+            });
+            return devices.isEmpty() ? null : devices;
+        });
+        if (extended[0] != null) {
+            schedule(expiration.userId, expiration.deviceId, extended[0]);
+        }
+        return removed[0];
+    }
+
+    @AllArgsConstructor
+    private static final class Family {
+        private final String familyId;
+        private final long generation;
+        private final long expiresAtMillis;
+    }
+
+    @AllArgsConstructor
+    private static final class Expiration {
+        private final Long userId;
+        private final String deviceId;
+        private final String familyId;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demospringboot.services.token;
+
+import com.example.demospringboot.entities.RefreshToken;
+import com.example.demospringboot.repositories.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * refresh_tokens 테이블 기반 저장소. 여러 노드가 토큰을 공유해야 할 때 사용한다.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository repository;
+
+    @Override
+    public void save(Long userId, String deviceId, String familyId, Instant expiresAt) {
+        LocalDateTime expiresAtTime = toLocalDateTime(expiresAt);
+
+        // 1. 같은 기기의 기존 행을 새 패밀리로 제자리에서 갱신
+        if (repository.replaceFamily(userId, deviceId, familyId, expiresAtTime) > 0) {
+            return;
+        }
+
+        // 2. 처음 로그인한 기기면 새 행 저장
+        RefreshToken token = RefreshToken.builder()
+                .userId(userId)
+                .deviceId(deviceId)
+                .familyId(familyId)
+                .generation(0)
+                .expiresAt(expiresAtTime)
+                .createdAt(LocalDateTime.now())
+                .build();
+        try {
+            repository.saveAndFlush(token);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 기기의 동시 로그인으로 먼저 들어간 행이 있으면 그 행을 갱신
+            repository.replaceFamily(userId, deviceId, familyId, expiresAtTime);
+        }
+    }
+
+    @Override
+    public RotationResult rotate(Long userId, String familyId, long generation, Instant expiresAt) {
+        // 조회 없이 조건부 update 한 번으로 세대 비교와 증가를 처리
+        if (repository.advanceGeneration(userId, familyId, generation,
+                toLocalDateTime(expiresAt), LocalDateTime.now()) > 0) {
+            return RotationResult.ROTATED;
+        }
+        // 실패한 이유를 구분: 패밀리가 없음 / 만료 / 이전 세대 토큰 재사용
+        RefreshToken current = repository.findByUserIdAndFamilyId(userId, familyId).orElse(null);
+        if (current == null) {
+            return RotationResult.NOT_FOUND;
+        }
+        RotationResult result = current.getExpiresAt().isAfter(LocalDateTime.now())
+                ? RotationResult.REUSED : RotationResult.EXPIRED;
+        // 조회와 삭제 사이에 재로그인으로 패밀리가 바뀌었으면 지워진 행이 없음
+        return repository.deleteFamily(userId, familyId) > 0 ? result : RotationResult.NOT_FOUND;
+    }
+
+    @Override
+    public void deleteByUserId(Long userId) {
+        repository.deleteByUserId(userId);
+    }
+
+    @Override
+    public void deleteFamily(Long userId, String familyId) {
+        repository.deleteFamily(userId, familyId);
+    }
+
+    @Override
+    public int deleteExpired() {
+        return repository.deleteExpired(LocalDateTime.now());
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
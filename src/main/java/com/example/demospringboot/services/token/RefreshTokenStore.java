@@ -0,0 +1,27 @@
+package com.example.demospringboot.services.token;
+
+import java.time.Instant;
+
+/**
+ * 리프레시 토큰 패밀리 저장소. 토큰 원문 대신 사용자 + 기기별 패밀리 ID 와 현재 세대만 보관한다.
+ * refresh-token.store=jpa(기본) | memory 로 구현체를 고른다.
+ */
+public interface RefreshTokenStore {
+
+    // 로그인: 같은 사용자 + 기기의 기존 패밀리가 있으면 새 패밀리(세대 0)로 교체
+    void save(Long userId, String deviceId, String familyId, Instant expiresAt);
+
+    /**
+     * 재발급: 저장된 세대가 generation 과 같고 만료되지 않았으면 세대를 1 올리고 만료 시각을 늘린다.
+     * 세대가 다르면 이미 교체된 토큰이 다시 쓰인 것이므로 패밀리를 폐기하고 REUSED 를 반환한다.
+     * 패밀리가 만료됐으면 EXPIRED, 없거나 재로그인으로 다른 패밀리로 바뀌었으면 NOT_FOUND 를 반환한다.
+     */
+    RotationResult rotate(Long userId, String familyId, long generation, Instant expiresAt);
+
+    void deleteByUserId(Long userId);
+
+    void deleteFamily(Long userId, String familyId);
+
+    // 만료된 패밀리 정리, 정리한 개수 반환
+    int deleteExpired();
+}
@@ -0,0 +1,15 @@
+package com.example.demospringboot.services.token;
+
+/**
+ * 리프레시 토큰 재발급 결과.
+ */
+public enum RotationResult {
+    // 세대가 일치해 다음 세대로 넘어감
+    ROTATED,
+    // 이미 교체된 세대의 토큰이 다시 들어옴, 패밀리 전체를 폐기함
+    REUSED,
+    // 패밀리의 유효기간이 지남, 재사용이 아니므로 패밀리만 정리함
+    EXPIRED,
+    // 패밀리가 없음 (로그아웃, 재로그인으로 교체, 만료 정리, 폐기)
+    NOT_FOUND
+}
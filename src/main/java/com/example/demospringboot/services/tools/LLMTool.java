@@ -0,0 +1,31 @@
+package com.example.demospringboot.services.tools;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Gemini Function Calling 으로 노출되는 도구.
+ * 빈으로 등록하면 ToolRegistry 가 자동으로 수집해 요청의 tools 선언에 포함한다.
+ */
+public interface LLMTool {
+
+    String getName();
+
+    String getDescription();
+
+    // 인자 JSON Schema (type=object)
+    Map<String, Object> getParameters();
+
+    String execute(Map<String, Object> args);
+
+    // 비동기 실행. 비동기 클라이언트가 있는 도구는 재정의해서 스레드를 점유하지 않도록 한다
+    default CompletableFuture<String> executeAsync(Map<String, Object> args, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> execute(args), executor);
+    }
+
+    // 실행 실패 시 사용자에게 보여줄 문구
+    default String getFailureMessage() {
+        return "죄송합니다. 요청하신 정보를 가져올 수 없습니다.";
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demospringboot.services.tools;
+
+import com.example.demospringboot.dto.gemini.GeminiFunctionCallRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 등록된 LLMTool 빈 목록.
+ * 도구 선언(tools 배열)은 기동 시 한 번만 JSON 으로 직렬화해 모든 요청에서 재사용한다.
+ */
+@Component
+@Slf4j
+public class ToolRegistry {
+
+    private final Map<String, LLMTool> tools;
+    private final String toolsJson;
+
+    public ToolRegistry(List<LLMTool> tools, ObjectMapper objectMapper) {
+        Map<String, LLMTool> byName = new LinkedHashMap<>();
+        for (LLMTool tool : tools) {
+            if (byName.put(tool.getName(), tool) != null) {
+                throw new IllegalStateException("중복된 도구 이름: " + tool.getName());
+            }
+        }
+        this.tools = Collections.unmodifiableMap(byName);
+        this.toolsJson = serialize(byName.values(), objectMapper);
+        log.info("LLM 도구 등록: {}", byName.keySet());
+    }
+
+    public LLMTool get(String name) {
+        return tools.get(name);
+    }
+
+    public Collection<LLMTool> getTools() {
+        return tools.values();
+    }
+
+    // GeminiFunctionCallRequest.tools 에 그대로 기록되는 JSON (도구가 없으면 null)
+    public String getToolsJson() {
+        return toolsJson;
+    }
+
+    private static String serialize(Collection<LLMTool> tools, ObjectMapper objectMapper) {
+        if (tools.isEmpty()) {
+            return null;
+        }
+        List<GeminiFunctionCallRequest.FunctionDeclaration> declarations = tools.stream()
+                .map(tool -> new GeminiFunctionCallRequest.FunctionDeclaration(
+                        tool.getName(), tool.getDescription(), tool.getParameters()))
+                .toList();
+        try {
+            return objectMapper.writeValueAsString(
+                    Collections.singletonList(new GeminiFunctionCallRequest.Tool(declarations)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("도구 선언 직렬화 실패", e);
+        }
+    }
+}
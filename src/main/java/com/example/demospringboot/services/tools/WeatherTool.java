@@ -0,0 +1,80 @@
+package com.example.demospringboot.services.tools;
+
+import com.example.demospringboot.services.OpenWeatherService;
+import com.example.demospringboot.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WeatherTool implements LLMTool {
+
+    private static final Map<String, Object> PARAMETERS = Map.of(
+            "type", "object",
+            "properties", Map.of(
+                    "city", Map.of("type", "string", "description", "도시 이름 (예: 서울, 부산)"),
+                    "countryCode", Map.of("type", "string", "description", "국가 코드 (예: KR, US)")
+            ),
+            "required", List.of("city", "countryCode")
+    );
+
+    private final OpenWeatherService openWeatherService;
+    private final Tracer tracer;
+
+    @Override
+    public String getName() {
+        return "get_current_weather";
+    }
+
+    @Override
+    public String getDescription() {
+        return "특정 도시의 현재 날씨 정보를 가져옵니다.";
+    }
+
+    @Override
+    public Map<String, Object> getParameters() {
+        return PARAMETERS;
+    }
+
+    @Override
+    public String execute(Map<String, Object> args) {
+        String city = argument(args, "city");
+        String countryCode = argument(args, "countryCode");
+
+        log.debug("날씨 함수 실행: city={}, countryCode={}", city, countryCode);
+
+        // OpenWeather API 호출 후 날씨 정보 포맷팅
+        return openWeatherService.formatWeatherResponse(openWeatherService.getCurrentWeather(city, countryCode));
+    }
+
+    @Override
+    public CompletableFuture<String> executeAsync(Map<String, Object> args, Executor executor) {
+        String city = argument(args, "city");
+        String countryCode = argument(args, "countryCode");
+
+        log.debug("날씨 함수 비동기 실행: city={}, countryCode={}", city, countryCode);
+
+        return openWeatherService.getCurrentWeatherAsync(city, countryCode)
+                .thenApply(tracer.wrap(openWeatherService::formatWeatherResponse));
+    }
+
+    @Override
+    public String getFailureMessage() {
+        return "죄송합니다. 해당 도시의 날씨 정보를 가져올 수 없습니다.";
+    }
+
+    private static String argument(Map<String, Object> args, String name) {
+        Object value = args != null ? args.get(name) : null;
+        if (value == null) {
+            throw new IllegalArgumentException("필수 인자가 없습니다: " + name);
+        }
+        return value.toString();
+    }
+}
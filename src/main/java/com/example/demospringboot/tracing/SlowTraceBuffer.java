@@ -0,0 +1,75 @@
+package com.example.demospringboot.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 최근 window 안에 끝난 트레이스 중 가장 느린 capacity 개.
+ * 가장 빠른 항목이 맨 앞에 오는 힙으로 보관하고, 가득 찬 상태에서 그보다 빠른 트레이스는 락 없이 버린다.
+ */
+class SlowTraceBuffer {
+
+    private static final Comparator<Trace> BY_DURATION = Comparator.comparingLong(Trace::getDurationNanos);
+
+    private final int capacity;
+    private final long windowMillis;
+    private final PriorityQueue<Trace> fastestFirst;
+
+    // 가득 찼을 때 들어오려면 넘어야 하는 소요 시간, 보관 중인 가장 오래된 트레이스의 만료 시각
+    private volatile long thresholdNanos;
+    private volatile long earliestExpiryMillis = Long.MAX_VALUE;
+
+    SlowTraceBuffer(int capacity, long windowMillis) {
+        this.capacity = capacity;
+        this.windowMillis = windowMillis;
+        this.fastestFirst = new PriorityQueue<>(capacity + 1, BY_DURATION);
+    }
+
+    void offer(Trace trace) {
+        long now = System.currentTimeMillis();
+        if (trace.getDurationNanos() <= thresholdNanos && now < earliestExpiryMillis) {
+            return;
+        }
+        synchronized (fastestFirst) {
+            evictExpired(now);
+            fastestFirst.add(trace);
+            if (fastestFirst.size() > capacity) {
+                fastestFirst.poll();
+            }
+            refresh();
+        }
+    }
+
+    // 느린 순서
+    List<Trace> snapshot() {
+        List<Trace> traces;
+        synchronized (fastestFirst) {
+            evictExpired(System.currentTimeMillis());
+            refresh();
+            traces = new ArrayList<>(fastestFirst);
+        }
+        traces.sort(BY_DURATION.reversed());
+        return traces;
+    }
+
+    private void evictExpired(long now) {
+        if (now >= earliestExpiryMillis) {
+            fastestFirst.removeIf(trace -> expiresAt(trace) <= now);
+        }
+    }
+
+    private void refresh() {
+        thresholdNanos = fastestFirst.size() >= capacity ? fastestFirst.peek().getDurationNanos() : -1;
+        long earliest = Long.MAX_VALUE;
+        for (Trace trace : fastestFirst) {
+            earliest = Math.min(earliest, expiresAt(trace));
+        }
+        earliestExpiryMillis = earliest;
+    }
+
+    private long expiresAt(Trace trace) {
+        return trace.getStartedAt().toEpochMilli() + windowMillis;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demospringboot.tracing;
+
+/**
+ * 진행 중인 스팬. end 를 처음 호출할 때 한 번만 트레이스에 기록된다.
+ * 트레이스가 없으면 아무것도 하지 않는 NOOP 을 사용한다.
+ */
+public class Span implements AutoCloseable {
+
+    static final Span NOOP = new Span(null, null, 0L);
+
+    private final Trace trace;
+    private final String name;
+    private final long startNanos;
+    private boolean ended;
+
+    Span(Trace trace, String name, long startNanos) {
+        this.trace = trace;
+        this.name = name;
+        this.startNanos = startNanos;
+    }
+
+    public void end(boolean succeeded) {
+        if (trace == null || ended) {
+            return;
+        }
+        ended = true;
+        trace.record(name, startNanos, System.nanoTime(), !succeeded);
+    }
+
+    @Override
+    public void close() {
+        end(true);
+    }
+}
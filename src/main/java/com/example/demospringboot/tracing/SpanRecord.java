@@ -0,0 +1,19 @@
+package com.example.demospringboot.tracing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 끝난 스팬. 시작 시각은 트레이스 시작 기준 오프셋(ms)이다.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SpanRecord {
+    private final String name;
+    private final double offsetMillis;
+    private final double durationMillis;
+    private final String thread;
+    private final boolean error;
+}
@@ -0,0 +1,83 @@
+package com.example.demospringboot.tracing;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요청 하나의 트레이스. 비동기 단계는 다른 스레드에서 스팬을 추가하므로 스팬 목록은 락으로 보호한다.
+ * 스팬이 너무 많은 요청은 maxSpans 개까지만 보관한다.
+ */
+public class Trace {
+
+    @Getter
+    private final String traceId;
+    @Getter
+    private final String name;
+    @Getter
+    private final Instant startedAt;
+
+    private final long startNanos;
+    private final int maxSpans;
+    private final List<SpanRecord> spans = new ArrayList<>();
+    private int droppedSpans;
+
+    // 끝나기 전에는 -1
+    private volatile long durationNanos = -1;
+
+    Trace(String traceId, String name, int maxSpans) {
+        this.traceId = traceId;
+        this.name = name;
+        this.startedAt = Instant.now();
+        this.startNanos = System.nanoTime();
+        this.maxSpans = maxSpans;
+    }
+
+    Span startSpan(String spanName) {
+        return new Span(this, spanName, System.nanoTime());
+    }
+
+    void record(String spanName, long spanStartNanos, long spanEndNanos, boolean error) {
+        SpanRecord span = new SpanRecord(spanName, millis(spanStartNanos - startNanos),
+                millis(spanEndNanos - spanStartNanos), Thread.currentThread().getName(), error);
+        synchronized (spans) {
+            if (spans.size() < maxSpans) {
+                spans.add(span);
+            } else {
+                droppedSpans++;
+            }
+        }
+    }
+
+    void finish() {
+        durationNanos = System.nanoTime() - startNanos;
+    }
+
+    @JsonIgnore
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public double getDurationMillis() {
+        return millis(durationNanos);
+    }
+
+    public List<SpanRecord> getSpans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    public int getDroppedSpans() {
+        synchronized (spans) {
+            return droppedSpans;
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
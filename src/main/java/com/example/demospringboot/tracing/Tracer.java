@@ -0,0 +1,125 @@
+package com.example.demospringboot.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 외부 수집기 없이 프로세스 안에서만 쓰는 요청 트레이서.
+ * TracingFilter 가 요청마다 트레이스를 시작해 현재 스레드에 두고, 각 단계는 startSpan 으로 소요 시간을 남긴다.
+ * 다른 스레드로 넘어가는 비동기 단계는 wrap / callWith 로 트레이스를 옮겨 간다.
+ * 끝난 트레이스 중 최근 가장 느린 것들만 보관해 /api/admin/traces 로 보여준다.
+ */
+@Component
+@Slf4j
+public class Tracer {
+
+    public static final String TRACE_ID_MDC_KEY = "traceId";
+
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final int maxSpans;
+    private final SlowTraceBuffer slowest;
+
+    public Tracer(@Value("${tracing.enabled:true}") boolean enabled,
+                  @Value("${tracing.slowest-size:50}") int slowestSize,
+                  @Value("${tracing.window-seconds:300}") long windowSeconds,
+                  @Value("${tracing.max-spans:64}") int maxSpans) {
+        this.enabled = enabled;
+        this.maxSpans = maxSpans;
+        this.slowest = new SlowTraceBuffer(slowestSize, windowSeconds * 1000);
+        log.info("요청 트레이싱: enabled={}, slowestSize={}, window={}s", enabled, slowestSize, windowSeconds);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 새 트레이스를 시작해 현재 스레드에 연결
+    public Trace start(String name) {
+        Trace trace = new Trace(newTraceId(), name, maxSpans);
+        attach(trace);
+        return trace;
+    }
+
+    public void finish(Trace trace) {
+        trace.finish();
+        slowest.offer(trace);
+    }
+
+    public Trace current() {
+        return CURRENT.get();
+    }
+
+    // 현재 스레드에 트레이스가 없으면 기록하지 않는 스팬
+    public Span startSpan(String name) {
+        Trace trace = CURRENT.get();
+        return trace != null ? trace.startSpan(name) : Span.NOOP;
+    }
+
+    public void detach() {
+        CURRENT.remove();
+        MDC.remove(TRACE_ID_MDC_KEY);
+    }
+
+    // trace 를 현재 스레드에 잠시 연결한 채로 실행
+    public <T> T callWith(Trace trace, Supplier<T> supplier) {
+        if (trace == null) {
+            return supplier.get();
+        }
+        Trace previous = CURRENT.get();
+        attach(trace);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous != null) {
+                attach(previous);
+            } else {
+                detach();
+            }
+        }
+    }
+
+    // 호출 시점의 트레이스를 다른 스레드에서 실행될 콜백으로 옮김
+    public <T, R> Function<T, R> wrap(Function<T, R> function) {
+        Trace trace = CURRENT.get();
+        if (trace == null) {
+            return function;
+        }
+        return value -> callWith(trace, () -> function.apply(value));
+    }
+
+    // 스레드 풀 TaskDecorator 용
+    public Runnable wrap(Runnable runnable) {
+        Trace trace = CURRENT.get();
+        if (trace == null) {
+            return runnable;
+        }
+        return () -> callWith(trace, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    // 최근 window 안에서 가장 느린 트레이스 (느린 순)
+    public List<Trace> slowestTraces() {
+        return slowest.snapshot();
+    }
+
+    private static void attach(Trace trace) {
+        CURRENT.set(trace);
+        MDC.put(TRACE_ID_MDC_KEY, trace.getTraceId());
+    }
+
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("%016x%016x", random.nextLong(), random.nextLong());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demospringboot.tracing;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * /api/** 요청마다 트레이스를 시작하고 trace ID 를 로그 MDC 와 X-Trace-Id 응답 헤더에 넣는다.
+ * 스프링 시큐리티 필터보다 먼저 실행되어 인증 시간까지 포함하고,
+ * 비동기 응답(CompletableFuture, SSE)은 응답이 실제로 끝날 때 트레이스를 닫는다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    private final Tracer tracer;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !tracer.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Trace trace = tracer.start(request.getMethod() + " " + request.getRequestURI());
+        response.setHeader(TRACE_ID_HEADER, trace.getTraceId());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new FinishOnComplete(trace));
+            } else {
+                tracer.finish(trace);
+            }
+            tracer.detach();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private final class FinishOnComplete implements AsyncListener {
+
+        private final Trace trace;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            tracer.finish(trace);
+        }
+
+        // 시간 초과나 오류 뒤에도 onComplete 가 호출됨
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
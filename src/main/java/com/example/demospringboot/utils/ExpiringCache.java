@@ -0,0 +1,180 @@
+package com.example.demospringboot.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 크기 제한과 항목별 만료 시각을 가진 인메모리 캐시.
+ * 조회는 락 없이 ConcurrentHashMap 으로 처리하고, 최대 크기를 넘으면
+ * 만료 항목을 먼저 정리한 뒤 그래도 넘치는 만큼 임의 순서로 제거한다.
+ */
+public class ExpiringCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public ExpiringCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    // 적중/실패 통계에 반영하지 않는 조회 (이미 센 조회를 다시 확인할 때 사용)
+    public V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * 만료되지 않은 값이 있으면 그 값을, 없으면 factory 로 만든 값을 ttl 로 넣고 반환한다.
+     * 같은 키에 동시에 호출해도 값은 하나만 만들어진다.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory, Duration ttl) {
+        long now = System.currentTimeMillis();
+        boolean[] created = new boolean[1];
+        Entry<V> entry = entries.compute(key, (k, existing) -> {
+            if (existing != null && !existing.isExpired(now)) {
+                return existing;
+            }
+            if (existing != null) {
+                evictions.increment();
+            }
+            created[0] = true;
+            return new Entry<>(factory.apply(k), now + ttl.toMillis());
+        });
+        if (created[0]) {
+            misses.increment();
+            if (entries.size() > maxSize) {
+                evict();
+            }
+        } else {
+            hits.increment();
+        }
+        return entry.value;
+    }
+
+    // 값은 그대로 두고 만료 시각만 연장 (이미 없어진 키는 무시)
+    public void refresh(K key, Duration ttl) {
+        long expiresAtMillis = System.currentTimeMillis() + ttl.toMillis();
+        entries.computeIfPresent(key, (k, existing) -> new Entry<>(existing.value, expiresAtMillis));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateIf(Predicate<V> predicate) {
+        entries.values().removeIf(entry -> predicate.test(entry.value));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private void evict() {
+        // 동시에 여러 스레드가 정리하지 않도록 한 스레드만 진입
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            Iterator<Entry<V>> expired = entries.values().iterator();
+            while (expired.hasNext()) {
+                if (expired.next().isExpired(now)) {
+                    expired.remove();
+                    evictions.increment();
+                }
+            }
+
+            // 만료 항목을 정리해도 넘치면 10% 여유가 생길 때까지 제거
+            int target = maxSize - maxSize / 10;
+            Iterator<K> keys = entries.keySet().iterator();
+            while (entries.size() > target && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                evictions.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+
+        public double getHitRate() {
+            long total = hitCount + missCount;
+            return total == 0 ? 0.0 : (double) hitCount / total;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demospringboot.utils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 서명 검증을 통과한 JWT의 클레임.
+ * JwtProvider.verify 에서만 생성되므로 이 객체를 가지고 있으면 검증된 토큰으로 간주한다.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class JwtClaims {
+    private final Long userId;
+    private final long issuedAtMillis;
+    private final long expiresAtMillis;
+
+    // jti, 폐기 목록의 키
+    private final String tokenId;
+
+    // 리프레시 토큰에만 있음 (액세스 토큰이면 null, 0)
+    private final String familyId;
+    private final long generation;
+
+    public boolean isRefreshToken() {
+        return familyId != null;
+    }
+}
@@ -4,53 +4,105 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtProvider {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    // 리프레시 토큰 패밀리 ID 와 세대 클레임
+    public static final String FAMILY_CLAIM = "fam";
+    public static final String GENERATION_CLAIM = "gen";
 
     private final long accessTokenValidity = 1000 * 60 * 60;       // 1시간
     private final long refreshTokenValidity = 1000 * 60 * 60 * 24; // 1일
 
+    // 서명 키와 파서는 기동 시 한 번만 생성하고 모든 요청에서 재사용
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    public JwtProvider(@Value("${jwt.secret}") String secretKey) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     public String createAccessToken(Long userId) {
         return createToken(userId, accessTokenValidity);
     }
 
-    public String createRefreshToken(Long userId) {
-        return createToken(userId, refreshTokenValidity);
+    /**
+     * 패밀리의 generation 번째 리프레시 토큰. 재발급할 때마다 같은 패밀리에서 세대만 1씩 올린다.
+     */
+    public String createRefreshToken(Long userId, String familyId, long generation) {
+        return tokenBuilder(userId, refreshTokenValidity)
+                .claim(FAMILY_CLAIM, familyId)
+                .claim(GENERATION_CLAIM, generation)
+                .compact();
+    }
+
+    public long getRefreshTokenValidityMillis() {
+        return refreshTokenValidity;
     }
 
     private String createToken(Long userId, long validity) {
+        return tokenBuilder(userId, validity).compact();
+    }
+
+    private JwtBuilder tokenBuilder(Long userId, long validity) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + validity);
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(String.valueOf(userId))
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(Keys.hmacShaKeyFor(secretKey.getBytes()), SignatureAlgorithm.HS256)
-                .compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256);
+    }
+
+    /**
+     * 토큰을 한 번만 파싱하여 서명과 만료를 검증하고, 검증된 클레임을 반환한다.
+     * 유효하지 않은 토큰이면 빈 Optional을 반환한다.
+     */
+    public Optional<JwtClaims> verify(String token) {
+        if (!StringUtils.hasText(token)) {
+            return Optional.empty();
+        }
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Number generation = claims.get(GENERATION_CLAIM, Number.class);
+            return Optional.of(new JwtClaims(
+                    Long.valueOf(claims.getSubject()),
+                    toMillis(claims.getIssuedAt()),
+                    toMillis(claims.getExpiration()),
+                    claims.getId(),
+                    claims.get(FAMILY_CLAIM, String.class),
+                    generation != null ? generation.longValue() : 0L
+            ));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     public Long getUserIdFromToken(String token) {
-        return Long.valueOf(Jwts.parserBuilder()
-                .setSigningKey(secretKey.getBytes())
-                .build()
+        return Long.valueOf(jwtParser
                 .parseClaimsJws(token)
                 .getBody()
                 .getSubject());
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(secretKey.getBytes()).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return verify(token).isPresent();
+    }
+
+    private static long toMillis(Date date) {
+        return date != null ? date.getTime() : 0L;
     }
 }
@@ -0,0 +1,79 @@
+package com.example.demospringboot.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 진행 중인 같은 키의 요청을 하나로 합치는 요청 중복 제거기 (single flight).
+ * 처음 들어온 요청은 기다리지 않고 바로 dispatcher 로 보내고, 그 응답을 기다리는 동안 같은 키로 들어온 호출자는
+ * 같은 결과를 나눠 받는다. 응답이 오면 키를 지우므로 결과를 캐시하지는 않는다.
+ * 서로 다른 키는 각각 호출되므로 외부 호출 수는 동시에 몰린 중복 요청만큼만 줄어든다.
+ */
+public class RequestCoalescer<K, V> {
+
+    private final Function<K, CompletableFuture<V>> dispatcher;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+
+    public RequestCoalescer(Function<K, CompletableFuture<V>> dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    public CompletableFuture<V> submit(K key) {
+        submitted.increment();
+
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            // 호출자가 취소하거나 완료시켜도 다른 호출자에게 영향이 없도록 복사본을 돌려줌
+            return existing.copy();
+        }
+
+        dispatched.increment();
+        CompletableFuture<V> call;
+        try {
+            call = dispatcher.apply(key);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((value, error) -> {
+            // 결과를 전달하기 전에 키를 지워, 이후 요청은 새로 호출
+            inFlight.remove(key, created);
+            if (error == null) {
+                created.complete(value);
+            } else {
+                created.completeExceptionally(error);
+            }
+        });
+        return created.copy();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public Stats stats() {
+        return new Stats(submitted.sum(), dispatched.sum());
+    }
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Stats {
+        private final long submittedCount;
+        private final long dispatchedCount;
+
+        // 중복 제거로 줄어든 외부 호출 비율
+        public double getDedupRate() {
+            return submittedCount == 0 ? 0.0 : 1.0 - (double) dispatchedCount / submittedCount;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demospringboot.utils;
+
+import lombok.AllArgsConstructor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ * 만료 시각별로 항목을 모아 두는 해시 타이머 휠.
+ * 항목은 (만료 시각 / tick) 번째 슬롯에 들어가고, advance 가 지나간 슬롯만 훑어 만료 항목을 꺼낸다.
+ * 한 바퀴(tick * slots)보다 먼 항목은 같은 슬롯에 남아 있다가 실제 만료 시각이 된 바퀴에서 꺼내진다.
+ * 등록은 락 없이, advance 는 한 스레드씩 처리한다.
+ */
+public class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final Queue<Timeout<T>>[] wheel;
+    private final int mask;
+
+    // 마지막으로 처리한 tick
+    private long processedTick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(Duration tick, int slots) {
+        if (slots <= 0 || Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("slots must be a power of two: " + slots);
+        }
+        this.tickMillis = tick.toMillis();
+        this.wheel = new Queue[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.mask = slots - 1;
+        this.processedTick = System.currentTimeMillis() / tickMillis;
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        long tick = deadlineMillis / tickMillis;
+        wheel[(int) (tick & mask)].add(new Timeout<>(item, deadlineMillis));
+    }
+
+    /**
+     * nowMillis 까지 지나간 슬롯의 만료 항목을 onExpire 로 전달하고, onExpire 가 true 를 반환한(실제로 정리한) 개수를 반환한다.
+     * false 를 반환한 항목도 휠에서는 빠진다.
+     */
+    public synchronized int advance(long nowMillis, Predicate<T> onExpire) {
+        long targetTick = nowMillis / tickMillis;
+        // 이미 지나간 tick 에 등록된 항목도 꺼내도록 현재 tick 까지 포함, 한 바퀴 이상은 돌 필요 없음
+        long fromTick = Math.max(processedTick, targetTick - mask);
+        int expired = 0;
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            expired += expireSlot(wheel[(int) (tick & mask)], nowMillis, onExpire);
+        }
+        processedTick = targetTick;
+        return expired;
+    }
+
+    private int expireSlot(Queue<Timeout<T>> slot, long nowMillis, Predicate<T> onExpire) {
+        int expired = 0;
+        List<Timeout<T>> later = null;
+        // 훑는 동안 추가되는 항목은 다음 advance 에서 처리
+        for (int remaining = slot.size(); remaining > 0; remaining--) {
+            Timeout<T> timeout = slot.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.deadlineMillis <= nowMillis) {
+                if (onExpire.test(timeout.item)) {
+                    expired++;
+                }
+            } else {
+                if (later == null) {
+                    later = new ArrayList<>();
+                }
+                later.add(timeout);
+            }
+        }
+        if (later != null) {
+            slot.addAll(later);
+        }
+        return expired;
+    }
+
+    @AllArgsConstructor
+    private static final class Timeout<T> {
+        private final T item;
+        private final long deadlineMillis;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demospringboot.config;
+
+import com.example.demospringboot.support.StubHttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncHttpClientTest {
+
+    private static final String PATH = "/stub";
+
+    private StubHttpServer server;
+    private HttpRequest request;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = StubHttpServer.start().route(PATH, "{\"ok\":true}");
+        request = HttpRequest.newBuilder(URI.create(server.url(PATH))).GET().build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void requestsBeyondLimitWaitForAFreeSlot() {
+        server.withLatency(100);
+        AsyncHttpClient client = new AsyncHttpClient("stub", HttpClient.newHttpClient(), 2, Duration.ofSeconds(5));
+
+        List<CompletableFuture<HttpResponse<String>>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        assertThat(client.getInFlightCount()).isEqualTo(2);
+        assertThat(client.getPendingCount()).isEqualTo(4);
+
+        calls.forEach(call -> assertThat(call.join().statusCode()).isEqualTo(200));
+        assertThat(server.requestCount()).isEqualTo(6);
+        assertThat(client.getInFlightCount()).isZero();
+        assertThat(client.getPendingCount()).isZero();
+    }
+
+    @Test
+    void waitingRequestFailsAfterAcquireTimeoutWithoutBeingSent() {
+        server.withLatency(500);
+        AsyncHttpClient client = new AsyncHttpClient("stub", HttpClient.newHttpClient(), 1, Duration.ofMillis(50));
+
+        CompletableFuture<HttpResponse<String>> first = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        CompletableFuture<HttpResponse<String>> queued = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+
+        assertThatThrownBy(queued::join).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(first.join().statusCode()).isEqualTo(200);
+        assertThat(server.requestCount()).isEqualTo(1);
+        assertThat(client.getInFlightCount()).isZero();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demospringboot.loadtest;
+
+import com.example.demospringboot.config.HttpClientPools;
+import com.example.demospringboot.services.GeminiLLMService;
+import com.example.demospringboot.services.OpenWeatherService;
+import com.example.demospringboot.support.StubHttpServer;
+import com.example.demospringboot.support.TestServices;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요청 스레드 수가 제한된 상태에서 동기/비동기 실행 방식의 처리량 비교.
+ * ./gradlew loadTest 로 실행한다.
+ */
+@Tag("load")
+class ChatbotConcurrencyLoadTest {
+
+    private static final int REQUEST_THREADS = 16;   // Tomcat 요청 스레드 풀을 흉내
+    private static final int REQUESTS = 400;
+    private static final long UPSTREAM_LATENCY_MS = 200;
+
+    private StubHttpServer gemini;
+    private StubHttpServer openWeather;
+    private HttpClientPools pools;
+    private GeminiLLMService geminiLLMService;
+    private ExecutorService requestThreads;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gemini = StubHttpServer.start()
+                .withLatency(UPSTREAM_LATENCY_MS)
+                .route(TestServices.GEMINI_PATH, TestServices::geminiResponder);
+        openWeather = StubHttpServer.start()
+                .withLatency(UPSTREAM_LATENCY_MS)
+                .route(TestServices.OPENWEATHER_PATH, TestServices.OPENWEATHER_RESPONSE);
+
+        pools = TestServices.httpClientPools();
+        OpenWeatherService openWeatherService =
+                TestServices.openWeatherService(pools, openWeather.url(TestServices.OPENWEATHER_PATH));
+        geminiLLMService =
+                TestServices.geminiLLMService(pools, gemini.url(TestServices.GEMINI_PATH), openWeatherService);
+        requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestThreads.shutdownNow();
+        pools.destroy();
+        gemini.close();
+        openWeather.close();
+    }
+
+    @Test
+    void asyncModeScalesBeyondRequestThreadCount() throws Exception {
+        double blockingRps = runBlocking();
+        double asyncRps = runAsync();
+
+        System.out.printf("[loadTest] requests=%d, requestThreads=%d, upstreamLatency=%dms%n",
+                REQUESTS, REQUEST_THREADS, UPSTREAM_LATENCY_MS);
+        System.out.printf("[loadTest] blocking: %.1f req/s%n", blockingRps);
+        System.out.printf("[loadTest] async   : %.1f req/s%n", asyncRps);
+
+        // 동기 방식은 스레드 수 / 지연 시간에 묶이고, 비동기 방식은 스레드 수와 무관하게 늘어난다
+        assertThat(asyncRps).isGreaterThan(blockingRps * 2);
+    }
+
+    private double runBlocking() throws Exception {
+        long start = System.nanoTime();
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            String question = question(i);
+            results.add(requestThreads.submit(() -> geminiLLMService.generateResponse(question)));
+        }
+        for (Future<String> result : results) {
+            assertThat(result.get(60, TimeUnit.SECONDS)).isNotBlank();
+        }
+        return throughput(start);
+    }
+
+    private double runAsync() throws Exception {
+        long start = System.nanoTime();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            String question = question(i);
+            // 요청 스레드는 호출만 시작하고 바로 반환
+            results.add(requestThreads.submit(() -> geminiLLMService.generateResponseAsync(question))
+                    .get(10, TimeUnit.SECONDS));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        for (CompletableFuture<String> result : results) {
+            assertThat(result.join()).isNotBlank();
+        }
+        return throughput(start);
+    }
+
+    // 절반은 일반 질문, 절반은 외부 API 를 두 번 거치는 날씨 질문
+    private static String question(int i) {
+        return i % 2 == 0 ? "Spring Boot란 무엇인가요? #" + i : "서울 날씨 알려줘 #" + i;
+    }
+
+    private static double throughput(long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return REQUESTS / seconds;
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.demospringboot.loadtest;
+
+import com.example.demospringboot.dto.response.TokenResponse;
+import com.example.demospringboot.support.LatencyRecorder;
+import com.example.demospringboot.support.StubHttpServer;
+import com.example.demospringboot.support.TestServices;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.Headers;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 스텁(Gemini, OpenWeather, Kakao)을 바라보는 실제 애플리케이션에 목표 RPS 로 요청을 보내는 종단 간 부하 테스트.
+ * 요청은 정해진 시각에 시작하고(open loop) 지연 시간도 그 시각부터 재므로, 서버가 밀리면 대기 시간까지 백분위에 반영된다.
+ *
+ * ./gradlew loadTest -Dload.rps=300 -Dload.duration-seconds=30 -Dload.stub-latency-ms=100 -Dload.stub-error-rate=0.05
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EndToEndLoadTest {
+
+    private static final int RPS = Integer.getInteger("load.rps", 200);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 20);
+    private static final int SESSIONS = Integer.getInteger("load.sessions", 200);
+    private static final long STUB_LATENCY_MS = Long.getLong("load.stub-latency-ms", 50);
+    private static final double STUB_ERROR_RATE = Double.parseDouble(System.getProperty("load.stub-error-rate", "0"));
+
+    private static final String KAKAO_PATH = "/v2/user/me";
+    private static final String KAKAO_TOKEN_PREFIX = "load-user-";
+    // me / refresh 가 쓰는 세션의 기기. 측정용 kakao 로그인은 다른 기기로 보내 세션의 패밀리를 교체하지 않음
+    private static final String SESSION_DEVICE = "load-device";
+    private static final String LOGIN_DEVICE = "load-login-device";
+
+    private static StubHttpServer gemini;
+    private static StubHttpServer openWeather;
+    private static StubHttpServer kakao;
+
+    @LocalServerPort
+    private int port;
+
+    private final ObjectMapper objectMapper = TestServices.objectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // 세션(사용자 + 기기)별 최신 토큰. 갱신 중인 세션은 null 로 비워 같은 리프레시 토큰을 두 번 쓰지 않게 함
+    private AtomicReferenceArray<TokenResponse> sessions;
+
+    @DynamicPropertySource
+    static void stubProperties(DynamicPropertyRegistry registry) throws IOException {
+        gemini = StubHttpServer.start()
+                .withLatency(STUB_LATENCY_MS)
+                .withErrorRate(STUB_ERROR_RATE)
+                .route(TestServices.GEMINI_PATH, TestServices::geminiResponder);
+        openWeather = StubHttpServer.start()
+                .withLatency(STUB_LATENCY_MS)
+                .withErrorRate(STUB_ERROR_RATE)
+                .route(TestServices.OPENWEATHER_PATH, TestServices.OPENWEATHER_RESPONSE);
+        kakao = StubHttpServer.start()
+                .withLatency(STUB_LATENCY_MS)
+                .withErrorRate(STUB_ERROR_RATE)
+                .route(KAKAO_PATH, EndToEndLoadTest::kakaoResponder);
+
+        registry.add("gemini.api.key", () -> "test-key");
+        registry.add("gemini.api.url", () -> gemini.url(TestServices.GEMINI_PATH));
+        registry.add("openweather.api.key", () -> "test-key");
+        registry.add("openweather.api.url", () -> openWeather.url(TestServices.OPENWEATHER_PATH));
+        registry.add("kakao.api.user-info-url", () -> kakao.url(KAKAO_PATH));
+        registry.add("jwt.secret", () -> "load-test-secret-key-that-is-at-least-256-bits-long-for-hs256");
+
+        // 스텁까지 요청이 가도록 응답 캐시, 속도 제한, 벌크헤드 한도를 끔
+        registry.add("llm.cache.enabled", () -> "false");
+        registry.add("kakao.cache.ttl-seconds", () -> "0");
+        registry.add("rate-limit.enabled", () -> "false");
+        registry.add("resilience.upstreams.gemini.max-concurrent-calls", () -> "10000");
+        registry.add("resilience.upstreams.openweather.max-concurrent-calls", () -> "10000");
+        registry.add("logging.level.com.example.demospringboot", () -> "WARN");
+    }
+
+    @AfterAll
+    static void closeStubs() {
+        gemini.close();
+        openWeather.close();
+        kakao.close();
+    }
+
+    @Test
+    void authAndChatbotFlowsAtTargetRps() throws Exception {
+        // 1. 세션 준비 (측정하지 않음)
+        sessions = new AtomicReferenceArray<>(SESSIONS);
+        List<CompletableFuture<Void>> logins = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            logins.add(relogin(i, 3));
+        }
+        CompletableFuture.allOf(logins.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+        // 2. 목표 RPS 로 요청 (me 40%, chatbot 40%, refresh 10%, kakao 10%)
+        //    갱신 중인 세션에 배정된 me / refresh 는 보내지 않고 각 흐름의 skipped 로 집계
+        int total = RPS * DURATION_SECONDS;
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        for (String flow : new String[]{"me", "chatbot", "refresh", "kakao"}) {
+            recorders.put(flow, new LatencyRecorder(flow, total));
+        }
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RPS;
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.add(fire(i, intended, recorders));
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).get(120, TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        // 3. 결과 출력
+        System.out.printf("[loadTest] targetRps=%d, duration=%ds, sessions=%d, stubLatency=%dms, stubErrorRate=%.2f%n",
+                RPS, DURATION_SECONDS, SESSIONS, STUB_LATENCY_MS, STUB_ERROR_RATE);
+        System.out.printf("[loadTest] achieved %.1f req/s%n", total / elapsedSeconds);
+        recorders.values().forEach(recorder -> System.out.println("[loadTest] " + recorder.report(elapsedSeconds)));
+
+        // 오류를 주입하지 않았으면 모든 요청이 성공해야 함
+        if (STUB_ERROR_RATE == 0) {
+            recorders.values().forEach(recorder -> assertThat(recorder.getErrorCount()).isZero());
+        }
+    }
+
+    private CompletableFuture<?> fire(int i, long intendedNanos, Map<String, LatencyRecorder> recorders) {
+        int session = i % SESSIONS;
+        int slot = i % 10;
+
+        if (slot < 4) {
+            TokenResponse tokens = sessions.get(session);
+            if (tokens == null) {
+                // 갱신 중인 세션: 다른 흐름으로 바꿔 보내지 않고 건너뛴 것으로 기록
+                recorders.get("me").skip();
+                return CompletableFuture.completedFuture(null);
+            }
+            return timed(recorders.get("me"), intendedNanos, send(me(tokens.getAccessToken())));
+        } else if (slot < 8) {
+            return timed(recorders.get("chatbot"), intendedNanos, send(chatbot(i)));
+        } else if (slot == 8) {
+            // 갱신이 끝날 때까지 세션을 비워 둠
+            TokenResponse tokens = sessions.getAndSet(session, null);
+            if (tokens == null) {
+                recorders.get("refresh").skip();
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<HttpResponse<String>> call = send(refresh(tokens.getRefreshToken()));
+            return CompletableFuture.allOf(
+                    timed(recorders.get("refresh"), intendedNanos, call),
+                    call.handle((response, error) -> error == null ? response : null)
+                            .thenCompose(response -> restoreSession(session, response)));
+        }
+
+        // 세션 기기로 로그인하면 진행 중인 갱신이 NOT_FOUND 로 실패하므로 다른 기기로 로그인
+        return timed(recorders.get("kakao"), intendedNanos, send(kakaoLogin(session, LOGIN_DEVICE)));
+    }
+
+    /**
+     * 갱신에 성공하면 새 토큰을 저장하고, 실패하면 (측정하지 않는) 재로그인으로 세션을 되살린다.
+     * 실패한 갱신의 패밀리는 폐기됐거나 서버에서만 교체됐을 수 있어 이전 토큰을 다시 쓰지 않는다.
+     */
+    private CompletableFuture<Void> restoreSession(int session, HttpResponse<String> response) {
+        if (response != null && response.statusCode() / 100 == 2) {
+            storeTokens(session, response);
+            return CompletableFuture.completedFuture(null);
+        }
+        return relogin(session, 3);
+    }
+
+    private CompletableFuture<Void> relogin(int session, int attemptsLeft) {
+        return send(kakaoLogin(session, SESSION_DEVICE))
+                .handle((response, error) -> error == null ? response : null)
+                .thenCompose(response -> {
+                    if (response != null && response.statusCode() / 100 == 2) {
+                        storeTokens(session, response);
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    return attemptsLeft > 1 ? relogin(session, attemptsLeft - 1) : CompletableFuture.<Void>completedFuture(null);
+                });
+    }
+
+    private static CompletableFuture<?> timed(LatencyRecorder recorder, long intendedNanos,
+                                              CompletableFuture<HttpResponse<String>> call) {
+        return call.handle((response, error) -> {
+            boolean succeeded = error == null && response.statusCode() / 100 == 2;
+            recorder.record(System.nanoTime() - intendedNanos, succeeded);
+            return null;
+        });
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> storeTokens(int session, HttpResponse<String> response) {
+        if (response.statusCode() / 100 == 2) {
+            try {
+                sessions.set(session, objectMapper.readValue(response.body(), TokenResponse.class));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return response;
+    }
+
+    private HttpRequest kakaoLogin(int session, String deviceId) {
+        return post("/api/auth/kakao",
+                "{\"accessToken\":\"" + KAKAO_TOKEN_PREFIX + session + "\",\"deviceId\":\"" + deviceId + "\"}");
+    }
+
+    private HttpRequest refresh(String refreshToken) {
+        return post("/api/auth/refresh", "{\"refreshToken\":\"" + refreshToken + "\"}");
+    }
+
+    private HttpRequest me(String accessToken) {
+        return HttpRequest.newBuilder(uri("/api/auth/me"))
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+    }
+
+    // 절반은 일반 질문, 절반은 외부 API 를 두 번 거치는 날씨 질문
+    private HttpRequest chatbot(int i) {
+        String question = i % 2 == 0 ? "Spring Boot란 무엇인가요? #" + i : "서울 날씨 알려줘 #" + i;
+        return post("/api/chatbot/question", "{\"question\":\"" + question + "\"}");
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + path);
+    }
+
+    // 카카오 액세스 토큰(load-user-N)마다 다른 사용자
+    private static String kakaoResponder(Headers headers, String requestBody) {
+        String authorization = headers.getFirst("Authorization");
+        String token = authorization != null ? authorization.substring("Bearer ".length()) : "";
+        long id = 1_000_000L + Long.parseLong(token.substring(KAKAO_TOKEN_PREFIX.length()));
+        return "{\"id\":" + id + ",\"kakao_account\":{\"email\":\"user" + id + "@example.com\","
+                + "\"profile\":{\"nickname\":\"부하테스트" + id + "\","
+                + "\"profile_image_url\":\"https://example.com/" + id + ".jpg\"}}}";
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.demospringboot.loadtest;
+
+import com.example.demospringboot.config.HttpClientPools;
+import com.example.demospringboot.services.GeminiLLMService;
+import com.example.demospringboot.services.OpenWeatherService;
+import com.example.demospringboot.support.StubHttpServer;
+import com.example.demospringboot.support.TestServices;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 인기 질문이 몰리는 상황에서 Gemini 중복 요청 합치기 유무에 따른 처리량 비교.
+ * 400 개 요청이 20 개 질문의 반복이므로, 서로 다른 질문만 있으면 효과가 없다.
+ * 스텁 서버는 동시 처리 수를 제한해 호출량 한도가 있는 외부 API 를 흉내낸다.
+ * ./gradlew loadTest 로 실행한다.
+ */
+@Tag("load")
+class GeminiRequestDedupLoadTest {
+
+    private static final int REQUESTS = 400;
+    private static final int DISTINCT_QUESTIONS = 20;
+    private static final int UPSTREAM_CONCURRENCY = 8;
+    private static final long UPSTREAM_LATENCY_MS = 100;
+
+    private StubHttpServer gemini;
+    private StubHttpServer openWeather;
+    private HttpClientPools pools;
+    private OpenWeatherService openWeatherService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gemini = StubHttpServer.start(UPSTREAM_CONCURRENCY)
+                .withLatency(UPSTREAM_LATENCY_MS)
+                .route(TestServices.GEMINI_PATH, TestServices::geminiResponder);
+        openWeather = StubHttpServer.start()
+                .route(TestServices.OPENWEATHER_PATH, TestServices.OPENWEATHER_RESPONSE);
+
+        pools = TestServices.httpClientPools();
+        openWeatherService = TestServices.openWeatherService(pools, openWeather.url(TestServices.OPENWEATHER_PATH));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pools.destroy();
+        gemini.close();
+        openWeather.close();
+    }
+
+    @Test
+    void dedupCollapsesConcurrentDuplicatePrompts() throws Exception {
+        GeminiLLMService plain =
+                TestServices.geminiLLMService(pools, gemini.url(TestServices.GEMINI_PATH), openWeatherService);
+        double plainRps = run(plain);
+        int plainCalls = gemini.requestCount();
+
+        gemini.resetRequestCount();
+        GeminiLLMService deduped = TestServices.geminiLLMService(
+                pools, gemini.url(TestServices.GEMINI_PATH), openWeatherService, true);
+        double dedupedRps = run(deduped);
+        int dedupedCalls = gemini.requestCount();
+
+        System.out.printf("[loadTest] requests=%d, distinctQuestions=%d, upstreamConcurrency=%d, upstreamLatency=%dms%n",
+                REQUESTS, DISTINCT_QUESTIONS, UPSTREAM_CONCURRENCY, UPSTREAM_LATENCY_MS);
+        System.out.printf("[loadTest] plain  : %.1f req/s, upstream calls=%d%n", plainRps, plainCalls);
+        System.out.printf("[loadTest] dedup  : %.1f req/s, upstream calls=%d, %s%n",
+                dedupedRps, dedupedCalls, deduped.dedupStats());
+
+        assertThat(dedupedCalls).isLessThan(plainCalls);
+        assertThat(dedupedRps).isGreaterThan(plainRps);
+    }
+
+    private static double run(GeminiLLMService service) throws Exception {
+        long start = System.nanoTime();
+        List<CompletableFuture<String>> results = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            results.add(service.generateResponseAsync("Spring Boot 질문 #" + (i % DISTINCT_QUESTIONS)));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(120, TimeUnit.SECONDS);
+        for (CompletableFuture<String> result : results) {
+            assertThat(result.join()).contains("안녕하세요");
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return REQUESTS / seconds;
+    }
+}
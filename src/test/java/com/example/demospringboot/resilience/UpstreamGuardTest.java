@@ -0,0 +1,126 @@
+package com.example.demospringboot.resilience;
+
+import com.example.demospringboot.config.HttpClientPools;
+import com.example.demospringboot.config.ResilienceProperties;
+import com.example.demospringboot.support.StubHttpServer;
+import com.example.demospringboot.support.TestServices;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamGuardTest {
+
+    private static final String PATH = "/stub";
+
+    private StubHttpServer server;
+    private HttpClientPools pools;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = StubHttpServer.start().route(PATH, "{\"ok\":true}");
+        pools = TestServices.httpClientPools();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pools.destroy();
+        server.close();
+    }
+
+    @Test
+    void circuitOpensAfterFailuresAndRejectsWithoutCallingUpstream() {
+        server.withErrorRate(1.0);
+        ResilienceProperties.Policy policy = new ResilienceProperties.Policy();
+        policy.setSlidingWindowSize(4);
+        policy.setMinimumCalls(4);
+        policy.setMaxAttempts(1);
+        UpstreamGuard guard = new UpstreamGuard("stub", policy);
+        RestTemplate restTemplate = pools.restTemplate("stub");
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guard.call(() -> restTemplate.getForObject(server.url(PATH), String.class)))
+                    .isInstanceOf(HttpServerErrorException.class);
+        }
+        assertThatThrownBy(() -> guard.call(() -> restTemplate.getForObject(server.url(PATH), String.class)))
+                .isInstanceOf(CallNotPermittedException.class);
+
+        assertThat(server.requestCount()).isEqualTo(4);
+        assertThat(guard.stats().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(guard.stats().getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesServerErrorsUpToMaxAttempts() {
+        server.withErrorRate(1.0);
+        ResilienceProperties.Policy policy = new ResilienceProperties.Policy();
+        policy.setMaxAttempts(3);
+        policy.setBackoffMs(10);
+        UpstreamGuard guard = new UpstreamGuard("stub", policy);
+        RestTemplate restTemplate = pools.restTemplate("stub");
+
+        assertThatThrownBy(() -> guard.call(() -> restTemplate.getForObject(server.url(PATH), String.class)))
+                .isInstanceOf(HttpServerErrorException.class);
+
+        assertThat(server.requestCount()).isEqualTo(3);
+        assertThat(guard.stats().getRetryCount()).isEqualTo(2);
+    }
+
+    @Test
+    void slowAsyncCallIsHedged() {
+        server.withLatency(300);
+        ResilienceProperties.Policy policy = new ResilienceProperties.Policy();
+        policy.setHedgeDelayMs(50);
+        UpstreamGuard guard = new UpstreamGuard("stub", policy);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.url(PATH))).GET().build();
+
+        String body = guard.callAsync(() -> send(request)).join();
+
+        assertThat(body).contains("ok");
+        assertThat(guard.stats().getHedgeCount()).isEqualTo(1);
+        assertThat(server.requestCount()).isEqualTo(2);
+        // 진 헤지 요청은 응답(300ms 뒤)을 기다리지 않고 취소되어 벌크헤드 자리를 돌려줌
+        awaitAllPermitsReleased(guard, policy.getMaxConcurrentCalls());
+        assertThat(guard.stats().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void attemptPastDeadlineIsCancelled() {
+        server.withLatency(1_000);
+        ResilienceProperties.Policy policy = new ResilienceProperties.Policy();
+        policy.setDeadlineMs(100);
+        policy.setMaxAttempts(1);
+        UpstreamGuard guard = new UpstreamGuard("stub", policy);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.url(PATH))).GET().build();
+
+        assertThatThrownBy(() -> guard.callAsync(() -> send(request)).join())
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        awaitAllPermitsReleased(guard, policy.getMaxConcurrentCalls());
+    }
+
+    private CompletableFuture<String> send(HttpRequest request) {
+        CompletableFuture<HttpResponse<String>> exchange =
+                pools.asyncClient("stub").sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        return UpstreamGuard.cancelling(exchange, exchange.thenApply(HttpResponse::body));
+    }
+
+    private static void awaitAllPermitsReleased(UpstreamGuard guard, int maxConcurrentCalls) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+        while (guard.stats().getAvailableConcurrentCalls() < maxConcurrentCalls && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(guard.stats().getAvailableConcurrentCalls()).isEqualTo(maxConcurrentCalls);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demospringboot.security;
+
+import com.example.demospringboot.utils.JwtClaims;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessTokenDenylistTest {
+
+    @Test
+    void revokedTokenIsRejectedAndOthersPass() {
+        AccessTokenDenylist denylist = new AccessTokenDenylist(1024);
+        JwtClaims revoked = claims(UUID.randomUUID().toString(), 60_000);
+        denylist.revoke(revoked);
+
+        assertThat(denylist.isRevoked(revoked)).isTrue();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(denylist.isRevoked(claims(UUID.randomUUID().toString(), 60_000))).isFalse();
+        }
+        // 블룸 필터를 통과한 건 정확한 맵에서 걸러짐
+        assertThat(denylist.getBloomHitCount() - 1).isEqualTo(denylist.getFalsePositiveCount());
+    }
+
+    @Test
+    void rebuildDropsExpiredTokens() {
+        AccessTokenDenylist denylist = new AccessTokenDenylist(1024);
+        JwtClaims live = claims("live", 60_000);
+        denylist.revoke(live);
+        denylist.revoke(claims("already-expired", -1));
+
+        assertThat(denylist.size()).isEqualTo(1);
+        denylist.rebuild();
+        assertThat(denylist.isRevoked(live)).isTrue();
+        assertThat(denylist.size()).isEqualTo(1);
+    }
+
+    private static JwtClaims claims(String tokenId, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        return new JwtClaims(42L, now, now + ttlMillis, tokenId, null, 0L);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demospringboot.security;
+
+import com.example.demospringboot.config.RateLimitProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitFilterTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rejectsRequestsBeyondCapacityPerClient() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties(3));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(call(filter, "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse rejected = call(filter, "10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+        assertThat(rejected.getContentAsString()).contains("Too many requests");
+
+        // 다른 IP 는 별도 버킷
+        assertThat(call(filter, "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void authenticatedUserIsLimitedByUserIdAcrossIps() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties(1));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("42", null, AuthorityUtils.createAuthorityList("USER")));
+
+        assertThat(call(filter, "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "10.0.0.2").getStatus()).isEqualTo(429);
+        assertThat(filter.getBucketCount()).isEqualTo(1);
+    }
+
+    @Test
+    void partiallyConfiguredDefaultRouteKeepsDefaultPattern() throws Exception {
+        // rate-limit.routes.chatbot.capacity=1 만 지정한 경우의 바인딩 결과
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("chatbot", new RateLimitProperties.Route(null, 1, null));
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        assertThat(call(filter, "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "10.0.0.1").getStatus()).isEqualTo(429);
+        assertThat(properties.resolveRoute("chatbot").getRefillPerSecond()).isEqualTo(1.0);
+        assertThat(properties.resolveRoute("auth").getPattern()).isEqualTo("/api/auth/**");
+    }
+
+    @Test
+    void customRouteWithoutPatternFailsAtStartup() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("weather", new RateLimitProperties.Route(null, 5, null));
+
+        assertThatThrownBy(() -> new RateLimitFilter(properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("rate-limit.routes.weather.pattern");
+    }
+
+    private static RateLimitProperties properties(int capacity) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(Map.of("chatbot", new RateLimitProperties.Route("/api/chatbot/**", capacity, 0.001)));
+        return properties;
+    }
+
+    private static MockHttpServletResponse call(RateLimitFilter filter, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/chatbot/question");
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
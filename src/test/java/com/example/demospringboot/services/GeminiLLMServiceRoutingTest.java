@@ -0,0 +1,56 @@
+package com.example.demospringboot.services;
+
+import com.example.demospringboot.config.HttpClientPools;
+import com.example.demospringboot.support.StubHttpServer;
+import com.example.demospringboot.support.TestServices;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiLLMServiceRoutingTest {
+
+    private StubHttpServer gemini;
+    private StubHttpServer openWeather;
+    private HttpClientPools pools;
+    private GeminiLLMService geminiLLMService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gemini = StubHttpServer.start()
+                .route(TestServices.GEMINI_PATH, TestServices::geminiResponder);
+        openWeather = StubHttpServer.start()
+                .route(TestServices.OPENWEATHER_PATH, TestServices.OPENWEATHER_RESPONSE);
+
+        pools = TestServices.httpClientPools();
+        OpenWeatherService openWeatherService =
+                TestServices.openWeatherService(pools, openWeather.url(TestServices.OPENWEATHER_PATH));
+        geminiLLMService =
+                TestServices.geminiLLMService(pools, gemini.url(TestServices.GEMINI_PATH), openWeatherService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pools.destroy();
+        gemini.close();
+        openWeather.close();
+    }
+
+    @Test
+    void everyQuestionCostsExactlyOneGeminiCall() {
+        // 날씨 키워드가 있지만 Gemini 가 functionCall 없이 답한 질문도 재요청하지 않음
+        String general = geminiLLMService.generateResponse("온도 조절 팁 알려줘");
+        String weather = geminiLLMService.generateResponse("서울 날씨 알려줘");
+        String async = geminiLLMService.generateResponseAsync("Spring Boot란?").join();
+
+        assertThat(general).contains("안녕하세요");
+        assertThat(weather).contains("Seoul");
+        assertThat(async).contains("안녕하세요");
+
+        assertThat(gemini.requestCount()).isEqualTo(3);
+        assertThat(geminiLLMService.getAverageUpstreamCallsPerQuestion()).isEqualTo(1.0);
+        assertThat(geminiLLMService.getFunctionCallRouteCount()).isEqualTo(1);
+        assertThat(geminiLLMService.getTextRouteCount()).isEqualTo(2);
+    }
+}
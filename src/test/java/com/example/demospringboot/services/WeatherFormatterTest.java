@@ -0,0 +1,80 @@
+package com.example.demospringboot.services;
+
+import com.example.demospringboot.dto.openweather.OpenWeatherResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WeatherFormatterTest {
+
+    // 기존 formatWeatherResponse 의 String.format 구현
+    private static final String LEGACY_KOREAN_FORMAT =
+            "📍 %s의 현재 날씨\n" +
+            "🌡️ 기온: %.1f°C (체감온도: %.1f°C)\n" +
+            "🌤️ 날씨: %s\n" +
+            "💧 습도: %d%%\n" +
+            "🌪️ 기압: %d hPa\n" +
+            "📊 최저/최고: %.1f°C / %.1f°C";
+
+    @Test
+    void koreanOutputMatchesStringFormat() {
+        WeatherFormatter formatter = WeatherFormatter.forLanguage("ko");
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            // 소수 둘째 자리 값(예: 1.45)과 임의의 값을 섞어 반올림 경계를 확인
+            OpenWeatherResponse weather = weather(
+                    random.nextBoolean() ? Math.round((random.nextDouble() - 0.5) * 10_000) / 100.0
+                            : (random.nextDouble() - 0.5) * 100,
+                    (i - 5_000) / 100.0,
+                    -0.04,
+                    0.05,
+                    random.nextInt(101),
+                    950 + random.nextInt(100));
+
+            assertThat(formatter.format(weather)).isEqualTo(legacyFormat(weather));
+        }
+    }
+
+    @Test
+    void englishTemplateAndUnavailableMessage() {
+        WeatherFormatter formatter = WeatherFormatter.forLanguage("en");
+
+        assertThat(formatter.format(weather(15.25, 13.8, 12.1, 18.5, 65, 1013))).isEqualTo(
+                "📍 Current weather in Seoul\n" +
+                "🌡️ Temperature: 15.3°C (feels like: 13.8°C)\n" +
+                "🌤️ Conditions: 맑음\n" +
+                "💧 Humidity: 65%\n" +
+                "🌪️ Pressure: 1013 hPa\n" +
+                "📊 Min/Max: 12.1°C / 18.5°C");
+        assertThat(formatter.format(new OpenWeatherResponse())).isEqualTo("Weather information is not available.");
+        assertThat(formatter.getApiLanguage()).isEqualTo("en");
+    }
+
+    @Test
+    void rejectsUnknownPlaceholder() {
+        assertThatThrownBy(() -> new WeatherFormatter("{city} {wind}", "", "en"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("{wind}");
+    }
+
+    private static String legacyFormat(OpenWeatherResponse weather) {
+        OpenWeatherResponse.Main main = weather.getMain();
+        return String.format(Locale.ROOT, LEGACY_KOREAN_FORMAT,
+                weather.getName(), main.getTemp(), main.getFeels_like(), weather.getWeather()[0].getDescription(),
+                main.getHumidity(), main.getPressure(), main.getTemp_min(), main.getTemp_max());
+    }
+
+    private static OpenWeatherResponse weather(double temp, double feelsLike, double tempMin, double tempMax,
+                                               int humidity, int pressure) {
+        OpenWeatherResponse weather = new OpenWeatherResponse();
+        weather.setName("Seoul");
+        weather.setMain(new OpenWeatherResponse.Main(temp, feelsLike, tempMin, tempMax, humidity, pressure));
+        weather.setWeather(new OpenWeatherResponse.Weather[]{
+                new OpenWeatherResponse.Weather(800, "Clear", "맑음", "01d")});
+        return weather;
+    }
+}
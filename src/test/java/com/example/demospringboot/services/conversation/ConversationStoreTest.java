@@ -0,0 +1,49 @@
+package com.example.demospringboot.services.conversation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversationStoreTest {
+
+    @Test
+    void concurrentTurnsOnNewSessionAreAllKept() throws Exception {
+        ConversationStore store = new ConversationStore(1800, 100, 100, 100_000);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int turn = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    store.record("user-1", "session-1", "질문 " + turn, "답변 " + turn);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(store.history("user-1", "session-1")).hasSize(threads * 2);
+        assertThat(store.history("user-2", "session-1")).isEmpty();
+    }
+
+    @Test
+    void koreanTextCountsOneTokenPerSyllable() {
+        assertThat(new ConversationTurn(ConversationTurn.USER, "hello world!").estimatedTokens()).isEqualTo(3);
+        assertThat(new ConversationTurn(ConversationTurn.USER, "서울 날씨 알려줘").estimatedTokens()).isEqualTo(7 + 1);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demospringboot.services.token;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+
+    @Override
+    protected RefreshTokenStore store() {
+        return store;
+    }
+
+    @Test
+    void deleteExpiredRemovesFamiliesPastTheirDeadline() throws InterruptedException {
+        newFamily(1L, "device-1", Instant.now().plusMillis(100));
+        String live = newFamily(2L, "device-1", later());
+
+        Thread.sleep(200);
+
+        assertThat(store.deleteExpired()).isEqualTo(1);
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.rotate(2L, live, 0, later())).isEqualTo(RotationResult.ROTATED);
+    }
+
+    @Test
+    void deleteExpiredCountsOnlyRemovedFamiliesAfterRotations() throws InterruptedException {
+        // 재발급마다 새 만료 시각이 생기지만 정리 개수는 패밀리 수만큼만 세어야 함
+        String rotated = newFamily(1L, "device-1", Instant.now().plusMillis(100));
+        for (int generation = 0; generation < 3; generation++) {
+            assertThat(store.rotate(1L, rotated, generation, Instant.now().plusMillis(150)))
+                    .isEqualTo(RotationResult.ROTATED);
+        }
+        newFamily(2L, "device-1", Instant.now().plusMillis(100));
+        // 만료 전에 재발급으로 유효기간이 늘어난 패밀리는 남아야 함
+        String extended = newFamily(3L, "device-1", Instant.now().plusMillis(100));
+        assertThat(store.rotate(3L, extended, 0, later())).isEqualTo(RotationResult.ROTATED);
+
+        Thread.sleep(300);
+
+        assertThat(store.deleteExpired()).isEqualTo(2);
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.deleteExpired()).isZero();
+        assertThat(store.rotate(3L, extended, 1, later())).isEqualTo(RotationResult.ROTATED);
+    }
+}
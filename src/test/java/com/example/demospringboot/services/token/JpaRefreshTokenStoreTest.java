@@ -0,0 +1,35 @@
+package com.example.demospringboot.services.token;
+
+import com.example.demospringboot.repositories.RefreshTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 조건부 update 가 실제 DB(H2)에서 동시 재발급을 하나만 통과시키는지 확인하기 위해
+ * 테스트 트랜잭션 없이 각 호출을 커밋한다.
+ */
+@DataJpaTest
+@Import(JpaRefreshTokenStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+    @Autowired
+    private JpaRefreshTokenStore store;
+
+    @Autowired
+    private RefreshTokenRepository repository;
+
+    @Override
+    protected RefreshTokenStore store() {
+        return store;
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demospringboot.services.token;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 저장소 구현체 공통 재발급 규칙. 구현체별 테스트가 store() 를 제공한다.
+ */
+abstract class RefreshTokenStoreContractTest {
+
+    private static final AtomicLong USER_IDS = new AtomicLong(System.nanoTime() & 0xffffff);
+
+    protected abstract RefreshTokenStore store();
+
+    @Test
+    void rotatesOnceAndReplayOfOlderGenerationRevokesFamily() {
+        Long userId = USER_IDS.incrementAndGet();
+        String familyId = newFamily(userId, "device-1", later());
+
+        assertThat(store().rotate(userId, familyId, 0, later())).isEqualTo(RotationResult.ROTATED);
+        assertThat(store().rotate(userId, familyId, 1, later())).isEqualTo(RotationResult.ROTATED);
+
+        // 이미 교체된 세대 0 토큰이 다시 들어오면 패밀리 전체 폐기
+        assertThat(store().rotate(userId, familyId, 0, later())).isEqualTo(RotationResult.REUSED);
+        assertThat(store().rotate(userId, familyId, 2, later())).isEqualTo(RotationResult.NOT_FOUND);
+    }
+
+    @Test
+    void concurrentRotationsOfSameGenerationRotateOnceAndDetectReuse() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 20; round++) {
+                Long userId = USER_IDS.incrementAndGet();
+                String familyId = newFamily(userId, "device-1", later());
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<CompletableFuture<RotationResult>> results = List.of(
+                        rotateAfter(start, executor, userId, familyId),
+                        rotateAfter(start, executor, userId, familyId));
+                start.countDown();
+
+                List<RotationResult> outcomes = List.of(
+                        results.get(0).get(10, TimeUnit.SECONDS), results.get(1).get(10, TimeUnit.SECONDS));
+                assertThat(outcomes).containsExactlyInAnyOrder(RotationResult.ROTATED, RotationResult.REUSED);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reloginReplacesFamilyAndOldFamilyIsNotFound() {
+        Long userId = USER_IDS.incrementAndGet();
+        String oldFamily = newFamily(userId, "device-1", later());
+        assertThat(store().rotate(userId, oldFamily, 0, later())).isEqualTo(RotationResult.ROTATED);
+
+        String newFamily = newFamily(userId, "device-1", later());
+
+        assertThat(store().rotate(userId, oldFamily, 1, later())).isEqualTo(RotationResult.NOT_FOUND);
+        assertThat(store().rotate(userId, newFamily, 0, later())).isEqualTo(RotationResult.ROTATED);
+    }
+
+    @Test
+    void expiredFamilyIsReportedAsExpiredNotReused() {
+        Long userId = USER_IDS.incrementAndGet();
+        String familyId = newFamily(userId, "device-1", Instant.now().minusSeconds(1));
+
+        assertThat(store().rotate(userId, familyId, 0, later())).isEqualTo(RotationResult.EXPIRED);
+        assertThat(store().rotate(userId, familyId, 0, later())).isEqualTo(RotationResult.NOT_FOUND);
+    }
+
+    protected String newFamily(Long userId, String deviceId, Instant expiresAt) {
+        String familyId = UUID.randomUUID().toString();
+        store().save(userId, deviceId, familyId, expiresAt);
+        return familyId;
+    }
+
+    protected static Instant later() {
+        return Instant.now().plus(Duration.ofHours(1));
+    }
+
+    private CompletableFuture<RotationResult> rotateAfter(CountDownLatch start, ExecutorService executor,
+                                                          Long userId, String familyId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return store().rotate(userId, familyId, 0, later());
+        }, executor);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demospringboot.support;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트용 지연 시간 기록기. 샘플을 배열에 모아 두었다가 끝난 뒤 정렬해서 백분위를 구한다.
+ * 기록은 모든 요청이 끝나기 전에, 조회는 끝난 뒤에만 한다.
+ */
+public class LatencyRecorder {
+
+    private final String name;
+    private final long[] samples;
+    private final AtomicInteger count = new AtomicInteger();
+    private final LongAdder errors = new LongAdder();
+    // 보낼 수 없어 건너뛴 요청 (지연 시간 샘플에는 넣지 않음)
+    private final LongAdder skipped = new LongAdder();
+
+    public LatencyRecorder(String name, int capacity) {
+        this.name = name;
+        this.samples = new long[capacity];
+    }
+
+    public void record(long latencyNanos, boolean succeeded) {
+        int index = count.getAndIncrement();
+        if (index < samples.length) {
+            samples[index] = latencyNanos;
+        }
+        if (!succeeded) {
+            errors.increment();
+        }
+    }
+
+    public void skip() {
+        skipped.increment();
+    }
+
+    public int getCount() {
+        return count.get();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    public String report(double elapsedSeconds) {
+        int size = Math.min(count.get(), samples.length);
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return String.format("%-8s count=%d errors=%d skipped=%d throughput=%.1f req/s p50=%.1fms p99=%.1fms p999=%.1fms max=%.1fms",
+                name, count.get(), errors.sum(), skipped.sum(), count.get() / elapsedSeconds,
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                millis(percentile(sorted, 0.999)), millis(size == 0 ? 0 : sorted[size - 1]));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demospringboot.support;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 외부 API(Gemini, OpenWeather, Kakao) 대신 사용하는 로컬 스텁 HTTP 서버.
+ * 응답 지연과 오류 비율을 설정해 느린/불안정한 외부 API 를 흉내낸다.
+ */
+public class StubHttpServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private volatile long latencyMillis;
+    private volatile double errorRate;
+
+    private StubHttpServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static StubHttpServer start() throws IOException {
+        return start(Executors.newCachedThreadPool());
+    }
+
+    // 동시에 처리하는 요청 수를 제한 (호출량 한도가 있는 외부 API 를 흉내)
+    public static StubHttpServer start(int maxConcurrency) throws IOException {
+        return start(Executors.newFixedThreadPool(maxConcurrency));
+    }
+
+    private static StubHttpServer start(ExecutorService executor) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(executor);
+        server.start();
+        return new StubHttpServer(server, executor);
+    }
+
+    public StubHttpServer route(String path, String responseBody) {
+        return route(path, requestBody -> responseBody);
+    }
+
+    // 요청 바디를 보고 응답 바디를 결정하는 경로 등록
+    public StubHttpServer route(String path, Function<String, String> responder) {
+        server.createContext(path, exchange -> handle(exchange, (headers, requestBody) -> responder.apply(requestBody)));
+        return this;
+    }
+
+    // 요청 헤더와 바디를 보고 응답 바디를 결정하는 경로 등록 (예: Authorization 토큰별 사용자)
+    public StubHttpServer route(String path, BiFunction<Headers, String, String> responder) {
+        server.createContext(path, exchange -> handle(exchange, responder));
+        return this;
+    }
+
+    public StubHttpServer withLatency(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        return this;
+    }
+
+    public StubHttpServer withErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    public int requestCount() {
+        return requestCount.get();
+    }
+
+    public void resetRequestCount() {
+        requestCount.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange, BiFunction<Headers, String, String> responder) throws IOException {
+        try {
+            requestCount.incrementAndGet();
+            String requestBody;
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBody = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            if (latencyMillis > 0) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            boolean fail = errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+            byte[] body = (fail ? "{\"error\":\"injected\"}" : responder.apply(exchange.getRequestHeaders(), requestBody))
+                    .getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(fail ? 500 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demospringboot.support;
+
+import com.example.demospringboot.config.GeminiProperties;
+import com.example.demospringboot.config.HttpClientPools;
+import com.example.demospringboot.config.HttpClientProperties;
+import com.example.demospringboot.config.OpenWeatherProperties;
+import com.example.demospringboot.config.ResilienceProperties;
+import com.example.demospringboot.metrics.AppMetrics;
+import com.example.demospringboot.resilience.UpstreamGuards;
+import com.example.demospringboot.services.GeminiLLMService;
+import com.example.demospringboot.services.OpenWeatherService;
+import com.example.demospringboot.services.tools.ToolRegistry;
+import com.example.demospringboot.services.tools.WeatherTool;
+import com.example.demospringboot.tracing.Tracer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 스프링 컨텍스트 없이 스텁 서버를 바라보는 서비스 인스턴스를 만드는 헬퍼.
+ */
+public final class TestServices {
+
+    public static final String GEMINI_PATH = "/v1beta/models/gemini-pro:generateContent";
+    public static final String OPENWEATHER_PATH = "/data/2.5/weather";
+
+    public static final String GEMINI_TEXT_RESPONSE =
+            "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"안녕하세요! 무엇을 도와드릴까요?\"}],\"role\":\"model\"},"
+                    + "\"finishReason\":\"STOP\",\"index\":0}]}";
+
+    public static final String GEMINI_WEATHER_CALL_RESPONSE =
+            "{\"candidates\":[{\"content\":{\"parts\":[{\"functionCall\":{\"name\":\"get_current_weather\","
+                    + "\"args\":{\"city\":\"Seoul\",\"countryCode\":\"KR\"}}}],\"role\":\"model\"},"
+                    + "\"finishReason\":\"STOP\",\"index\":0}]}";
+
+    public static final String OPENWEATHER_RESPONSE =
+            "{\"main\":{\"temp\":15.2,\"feels_like\":13.8,\"temp_min\":12.1,\"temp_max\":18.5,\"humidity\":65,\"pressure\":1013},"
+                    + "\"weather\":[{\"id\":800,\"main\":\"Clear\",\"description\":\"맑음\",\"icon\":\"01d\"}],"
+                    + "\"name\":\"Seoul\",\"sys\":{\"country\":\"KR\",\"sunrise\":1700000000,\"sunset\":1700040000}}";
+
+    private TestServices() {
+    }
+
+    // 도구 선언이 포함된 날씨 질문이면 functionCall, 그 외에는 텍스트 응답
+    public static String geminiResponder(String requestBody) {
+        if (requestBody.contains("functionDeclarations") && requestBody.contains("날씨")) {
+            return GEMINI_WEATHER_CALL_RESPONSE;
+        }
+        return GEMINI_TEXT_RESPONSE;
+    }
+
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    public static HttpClientPools httpClientPools() {
+        return new HttpClientPools(new HttpClientProperties());
+    }
+
+    // 부하 테스트가 벌크헤드에 막히지 않도록 동시 호출 한도를 넉넉하게 둠
+    public static UpstreamGuards upstreamGuards() {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.policy(HttpClientPools.GEMINI).setMaxConcurrentCalls(10_000);
+        properties.policy(HttpClientPools.OPENWEATHER).setMaxConcurrentCalls(10_000);
+        return new UpstreamGuards(properties);
+    }
+
+    public static AppMetrics appMetrics() {
+        return new AppMetrics(new SimpleMeterRegistry());
+    }
+
+    public static Tracer tracer() {
+        return new Tracer(true, 50, 300, 64);
+    }
+
+    public static OpenWeatherService openWeatherService(HttpClientPools pools, String apiUrl) {
+        OpenWeatherProperties properties = new OpenWeatherProperties();
+        properties.getApi().setKey("test-key");
+        properties.getApi().setUrl(apiUrl);
+        properties.getCache().setTtlSeconds(0);
+        properties.getCache().setMaxSize(100);
+        return new OpenWeatherService(pools.restTemplate(HttpClientPools.OPENWEATHER), objectMapper(), pools,
+                upstreamGuards(), appMetrics(), tracer(), properties);
+    }
+
+    public static GeminiLLMService geminiLLMService(HttpClientPools pools, String apiUrl,
+                                                    OpenWeatherService openWeatherService) {
+        return geminiLLMService(pools, apiUrl, openWeatherService, false);
+    }
+
+    // dedup 이면 응답 대기 중인 같은 요청을 합침
+    public static GeminiLLMService geminiLLMService(HttpClientPools pools, String apiUrl,
+                                                    OpenWeatherService openWeatherService, boolean dedup) {
+        ToolRegistry toolRegistry = new ToolRegistry(List.of(new WeatherTool(openWeatherService, tracer())), objectMapper());
+        GeminiProperties properties = new GeminiProperties();
+        properties.getApi().setKey("test-key");
+        properties.getApi().setUrl(apiUrl);
+        properties.getDedup().setEnabled(dedup);
+        return new GeminiLLMService(pools.restTemplate(HttpClientPools.GEMINI), toolRegistry, objectMapper(), pools,
+                ForkJoinPool.commonPool(), upstreamGuards(), appMetrics(), tracer(), properties);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demospringboot.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    @Test
+    void expiresItemsInDeadlineOrderAcrossRotations() {
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofSeconds(1), 8);
+        long now = System.currentTimeMillis();
+        List<String> expired = new ArrayList<>();
+
+        wheel.schedule("a", now + 2_000);
+        wheel.schedule("b", now + 5_000);
+        // 한 바퀴(8초) 뒤의 같은 슬롯: a 와 함께 꺼내지면 안 됨
+        wheel.schedule("c", now + 10_000);
+
+        assertThat(wheel.advance(now + 3_000, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly("a");
+
+        assertThat(wheel.advance(now + 6_000, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly("a", "b");
+
+        assertThat(wheel.advance(now + 11_000, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void advanceSkipsWholeTurnsWithoutLosingItems() {
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofSeconds(1), 8);
+        long now = System.currentTimeMillis();
+        List<String> expired = new ArrayList<>();
+
+        wheel.schedule("late", now + 30_000);
+
+        assertThat(wheel.advance(now + 29_000, expired::add)).isZero();
+        assertThat(wheel.advance(now + 31_000, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly("late");
+    }
+
+    @Test
+    void countsOnlyItemsTheCallbackReportsAsRemoved() {
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofSeconds(1), 8);
+        long now = System.currentTimeMillis();
+        List<String> seen = new ArrayList<>();
+
+        wheel.schedule("removed", now + 1_000);
+        wheel.schedule("superseded", now + 1_000);
+
+        assertThat(wheel.advance(now + 2_000, item -> seen.add(item) && item.equals("removed"))).isEqualTo(1);
+        assertThat(seen).containsExactlyInAnyOrder("removed", "superseded");
+        // false 를 반환한 항목도 다시 꺼내지지 않음
+        assertThat(wheel.advance(now + 3_000, seen::add)).isZero();
+    }
+}